@@ -1,8 +1,11 @@
 package com.springboot.advice;
 
 import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.metrics.MetricsRegistry;
 import com.springboot.response.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -18,6 +21,12 @@ import javax.validation.ConstraintViolationException;
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionAdvice {
+    private final MetricsRegistry metricsRegistry;
+
+    public GlobalExceptionAdvice(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentNotValidException(
@@ -38,12 +47,25 @@ public class GlobalExceptionAdvice {
 
     @ExceptionHandler
     public ResponseEntity handleBusinessLogicException(BusinessLogicException e) {
+        // ExceptionCode별 발생 횟수 기록
+        metricsRegistry.increment("business_errors_total", "code=\"" + e.getExceptionCode().name() + "\"");
         final ErrorResponse response = ErrorResponse.of(e.getExceptionCode());
 
         return new ResponseEntity<>(response, HttpStatus.valueOf(e.getExceptionCode()
                 .getStatus()));
     }
 
+    // 재시도 없이 실행된 수정(삭제 등)에서 버전 충돌이 나면 409
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException e) {
+        metricsRegistry.increment("business_errors_total", "code=\"" + ExceptionCode.CONCURRENT_MODIFICATION.name() + "\"");
+        final ErrorResponse response = ErrorResponse.of(ExceptionCode.CONCURRENT_MODIFICATION);
+
+        return response;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     public ErrorResponse handleHttpRequestMethodNotSupportedException(
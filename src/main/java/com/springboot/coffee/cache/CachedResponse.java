@@ -0,0 +1,17 @@
+package com.springboot.coffee.cache;
+
+import lombok.Getter;
+
+// 직렬화된 응답 본문과 조건부 GET 검증값
+@Getter
+public class CachedResponse {
+    private final byte[] body;
+    private final String eTag;
+    private final long lastModified;
+
+    public CachedResponse(byte[] body, String eTag, long lastModified) {
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+}
@@ -0,0 +1,19 @@
+package com.springboot.coffee.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+// 커피가 등록/수정/삭제되었을 때 발행되는 이벤트
+// 일괄 수정은 바뀐 커피 아이디를 모두 담아서 한 번만 발행 (캐시를 커피 개수만큼 다시 만들지 않도록)
+@Getter
+@AllArgsConstructor
+public class CoffeeChangedEvent {
+    private Collection<Long> coffeeIds;
+
+    public CoffeeChangedEvent(long coffeeId) {
+        this(Collections.singletonList(coffeeId));
+    }
+}
@@ -0,0 +1,80 @@
+package com.springboot.coffee.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.coffee.entity.Coffee;
+import com.springboot.config.DataSourceRouting;
+import com.springboot.response.ResourceVersion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 커피 메뉴 응답을 JSON 바이트로 직렬화해서 보관하는 캐시
+// 커피 변경이 커밋되면 스냅샷 전체를 새로 만들고, 다음 조회 때 다시 채워짐
+// 캐시를 채우는 조회는 레플리카 지연으로 이전 데이터가 캐시되지 않도록 프라이머리에서 실행
+// 조건부 GET 검증값도 함께 보관 (캐시 히트면 DB 조회 없이 304 응답 가능)
+@Component
+public class CoffeeMenuCache {
+    // page/size 조합이 무한히 늘어나지 않도록 페이지 캐시 개수 제한
+    private static final int MAX_PAGE_ENTRIES = 256;
+
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot = new Snapshot();
+
+    public CoffeeMenuCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 단건은 커피의 버전과 수정 시각으로 ETag/Last-Modified 생성
+    public CachedResponse getCoffee(long coffeeId, Supplier<Coffee> finder, Function<Coffee, Object> responseMapper) {
+        Snapshot current = snapshot;
+        CachedResponse response = current.coffees.get(coffeeId);
+        if (response == null) {
+            Coffee coffee = DataSourceRouting.runOnPrimary(finder);
+            ResourceVersion version = new ResourceVersion(coffee.getCoffeeId(), coffee.getVersion(), coffee.getModifiedAt());
+            response = new CachedResponse(serialize(responseMapper.apply(coffee)),
+                    version.getETag(), version.getLastModified());
+            current.coffees.putIfAbsent(coffeeId, response);
+        }
+        return response;
+    }
+
+    // 목록은 캐시를 채울 때 본문 해시로 ETag 생성 (캐시에서 꺼내므로 추가 조회 없음)
+    public CachedResponse getCoffees(int page, int size, Supplier<Object> loader) {
+        Snapshot current = snapshot;
+        String key = page + ":" + size;
+        CachedResponse response = current.pages.get(key);
+        if (response == null) {
+            byte[] body = serialize(DataSourceRouting.runOnPrimary(loader));
+            response = new CachedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", -1);
+            if (current.pages.size() < MAX_PAGE_ENTRIES) {
+                current.pages.putIfAbsent(key, response);
+            }
+        }
+        return response;
+    }
+
+    // 커밋 이후에 스냅샷 교체 (조회 도중 교체되면 그 결과는 버려진 스냅샷에만 저장됨)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoffeeChanged(CoffeeChangedEvent event) {
+        snapshot = new Snapshot();
+    }
+
+    private byte[] serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize coffee menu", e);
+        }
+    }
+
+    private static class Snapshot {
+        private final Map<Long, CachedResponse> coffees = new ConcurrentHashMap<>();
+        private final Map<String, CachedResponse> pages = new ConcurrentHashMap<>();
+    }
+}
@@ -1,21 +1,31 @@
 package com.springboot.coffee.controller;
 
+import com.springboot.coffee.cache.CachedResponse;
+import com.springboot.coffee.cache.CoffeeMenuCache;
+import com.springboot.coffee.dto.CoffeeBulkPatchDto;
+import com.springboot.coffee.dto.CoffeeBulkUpdateResponseDto;
 import com.springboot.coffee.dto.CoffeePatchDto;
 import com.springboot.coffee.dto.CoffeePostDto;
+import com.springboot.coffee.dto.CoffeeResponseDto;
 import com.springboot.coffee.entity.Coffee;
 import com.springboot.coffee.mapper.CoffeeMapper;
 import com.springboot.coffee.service.CoffeeService;
+import com.springboot.utils.CursorCreator;
+import com.springboot.response.CursorResponseDto;
 import com.springboot.response.MultiResponseDto;
 import com.springboot.response.SingleResponseDto;
+import com.springboot.sql.StatementBudget;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
-import java.util.List;
 
 @RestController
 @RequestMapping("/v12/coffees")
@@ -23,10 +33,12 @@ import java.util.List;
 public class CoffeeController {
     private CoffeeService coffeeService;
     private CoffeeMapper mapper;
+    private CoffeeMenuCache menuCache;
 
-    public CoffeeController(CoffeeService coffeeService, CoffeeMapper mapper) {
+    public CoffeeController(CoffeeService coffeeService, CoffeeMapper mapper, CoffeeMenuCache menuCache) {
         this.coffeeService = coffeeService;
         this.mapper = mapper;
+        this.menuCache = menuCache;
     }
 
     // 커피 등록
@@ -52,29 +64,59 @@ public class CoffeeController {
                 HttpStatus.OK);
     }
 
+    // 커피 일괄 수정 (아이디 또는 커피코드로 지정, 가격은 비율 또는 금액)
+    // 대상 확인 + 가격 UPDATE + 상태 UPDATE
+    @StatementBudget(3)
+    @PatchMapping("/bulk")
+    public ResponseEntity patchCoffees(@Valid @RequestBody CoffeeBulkPatchDto coffeeBulkPatchDto) {
+        CoffeeBulkUpdateResponseDto response = coffeeService.updateCoffees(coffeeBulkPatchDto);
+        return new ResponseEntity<>(new SingleResponseDto<>(response), HttpStatus.OK);
+    }
+
     // 단일 조회
     @GetMapping("/{coffee-id}")
-    public ResponseEntity getCoffee(@PathVariable("coffee-id") long coffeeId) {
-        // coffeeId로 해당 객체 찾고
-        Coffee coffee = coffeeService.findCoffee(coffeeId);
-        // ResponseDto로 변환 후 반환
-        return new ResponseEntity<>(
-                new SingleResponseDto<>(mapper.coffeeToCoffeeResponseDto(coffee)),
-                HttpStatus.OK);
+    public ResponseEntity getCoffee(@PathVariable("coffee-id") long coffeeId, WebRequest webRequest) {
+        // 캐시에 직렬화된 응답이 있으면 그대로 반환, 없으면 조회 후 ResponseDto로 변환해서 캐시에 저장
+        CachedResponse response = menuCache.getCoffee(coffeeId, () -> coffeeService.findCoffee(coffeeId),
+                coffee -> new SingleResponseDto<>(mapper.coffeeToCoffeeResponseDto(coffee)));
+        // 클라이언트가 가진 버전과 같으면 304 (본문 없음)
+        if (webRequest.checkNotModified(response.getETag(), response.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.getBody());
     }
 
     // 커피 전체 조회
     @GetMapping
     public ResponseEntity getCoffees(@Positive @RequestParam int page,
+                                     @Positive @RequestParam int size,
+                                     WebRequest webRequest) {
+        // 캐시에 없을 때만 커피 전체 찾아서 페이지네이션
+        CachedResponse response = menuCache.getCoffees(page, size, () -> {
+            // 응답 형태로 바로 조회된 목록과 Page 객체 넣어서 캐시에 저장
+            Page<CoffeeResponseDto> coffeePage = coffeeService.findCoffees(page, size);
+            return new MultiResponseDto<>(coffeePage.getContent(), coffeePage);
+        });
+        if (webRequest.checkNotModified(response.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.getBody());
+    }
+
+    // 커피 전체 조회(커서) - page 파라미터가 없으면 커서 페이지네이션
+    @GetMapping(params = "!page")
+    public ResponseEntity getCoffees(@RequestParam(required = false) String after,
                                      @Positive @RequestParam int size) {
-        // 커피 전체 찾아서 페이지네이션
-        Page<Coffee> coffeePage = coffeeService.findCoffees(page, size);
-        // mapper 쓰기 위해 List로 변환
-        List<Coffee> coffees = coffeePage.getContent();
-        // ResponseDto에 List와 Page 객체 넣어서 반환
+        // 커서 이후의 커피를 size만큼 조회
+        Slice<CoffeeResponseDto> coffeeSlice = coffeeService.findCoffees(after, size);
+        // 다음 커서와 함께 반환
         return new ResponseEntity<>(
-                new MultiResponseDto<>(mapper.coffeesToCoffeeResponseDtos(coffees),
-                        coffeePage),
+                new CursorResponseDto<>(coffeeSlice.getContent(), coffeeSlice,
+                        CursorCreator.nextCursor(coffeeSlice, CoffeeResponseDto::getCoffeeId)),
                 HttpStatus.OK);
     }
 
@@ -0,0 +1,41 @@
+package com.springboot.coffee.dto;
+
+import com.springboot.coffee.entity.Coffee;
+import lombok.Getter;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+public class CoffeeBulkPatchDto {
+    // 대상 커피는 아이디 또는 커피코드 중 하나로 지정
+    @Size(max = 1000)
+    private List<@Positive Long> coffeeIds;
+
+    @Size(max = 1000)
+    private List<@Pattern(regexp = "^([A-Za-z]){3}$", message = "커피 코드는 3자리 영문이어야 합니다.") String> coffeeCodes;
+
+    // 가격 변경은 비율(%) 또는 금액 중 하나
+    @Range(min = -90, max = 1000)
+    private Integer pricePercent;
+
+    @Range(min = -50000, max = 50000)
+    private Integer priceAmount;
+
+    private Coffee.CoffeeStatus coffeeStatus;
+
+    @AssertTrue(message = "coffeeIds 또는 coffeeCodes 중 하나만 지정해야 합니다.")
+    private boolean isTargetSpecified() {
+        return (coffeeIds == null || coffeeIds.isEmpty()) != (coffeeCodes == null || coffeeCodes.isEmpty());
+    }
+
+    @AssertTrue(message = "pricePercent와 priceAmount는 함께 지정할 수 없고, 변경할 값이 하나 이상 있어야 합니다.")
+    private boolean isChangeSpecified() {
+        return !(pricePercent != null && priceAmount != null)
+                && (pricePercent != null || priceAmount != null || coffeeStatus != null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.springboot.coffee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 일괄 수정 결과 요약
+@Builder
+@Getter
+@AllArgsConstructor
+public class CoffeeBulkUpdateResponseDto {
+    private int requested;
+    private int matched;
+    private int priceUpdated;
+    // 변경 후 가격이 허용 범위(100 ~ 50000)를 벗어나서 가격을 바꾸지 않은 커피 수
+    private int priceSkipped;
+    private int statusUpdated;
+    private List<Long> notFoundCoffeeIds;
+    private List<String> notFoundCoffeeCodes;
+}
@@ -1,12 +1,14 @@
 package com.springboot.coffee.dto;
 
 import com.springboot.coffee.entity.Coffee;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 
 @Builder
 @Getter
+@AllArgsConstructor
 public class CoffeeResponseDto {
     private long coffeeId;
     private String korName;
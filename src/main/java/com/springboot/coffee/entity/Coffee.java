@@ -2,9 +2,12 @@ package com.springboot.coffee.entity;
 
 import com.springboot.config.BaseEntity;
 import com.springboot.order.entity.OrderCoffee;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -12,11 +15,20 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @Entity
+// 메뉴는 자주 바뀌지 않으므로 2차 캐시에 보관 (수정은 커밋 시 캐시에 반영)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Coffee extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coffee_seq")
+    @SequenceGenerator(name = "coffee_seq", sequenceName = "coffee_seq", allocationSize = 50)
     private Long coffeeId;
 
+    // 낙관적 락 (동시에 수정되면 나중에 커밋하는 쪽이 실패)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @Column(length = 100, nullable = false)
     private String korName;
 
@@ -1,13 +1,74 @@
 package com.springboot.coffee.repository;
 
+import com.springboot.coffee.dto.CoffeeResponseDto;
 import com.springboot.coffee.entity.Coffee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CoffeeRepository extends JpaRepository<Coffee, Long> {
-    // 커피코드로 커피 찾는 메서드
+public interface CoffeeRepository extends JpaRepository<Coffee, Long>, CoffeeRepositoryCustom {
+    // 커피코드로 커피 찾는 메서드 (쿼리 캐시: 결과 아이디는 쿼리 캐시, 커피는 2차 캐시에서 조회)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Coffee> findByCoffeeCode(String coffeeCode);
+    // 커피코드 존재 여부만 확인 (엔티티 로딩 x)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByCoffeeCode(String coffeeCode);
+    // 블룸 필터 초기화용 전체 커피코드 스트리밍 (트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c.coffeeCode from Coffee c")
+    Stream<String> streamCoffeeCodes();
     // 커피아이디로 커피 찾는 메서드
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     Optional<Coffee> findByCoffeeId(long coffeeId);
+    // 목록 조회: 엔티티 대신 응답 형태로 바로 조회
+    @Query(value = "select new com.springboot.coffee.dto.CoffeeResponseDto(" +
+            "c.coffeeId, c.korName, c.engName, c.price, c.coffeeStatus) from Coffee c",
+            countQuery = "select count(c) from Coffee c")
+    Page<CoffeeResponseDto> findCoffeeResponses(Pageable pageable);
+    // 커서 모드 조회
+    @Query("select new com.springboot.coffee.dto.CoffeeResponseDto(" +
+            "c.coffeeId, c.korName, c.engName, c.price, c.coffeeStatus) from Coffee c where c.coffeeId < :coffeeId")
+    Slice<CoffeeResponseDto> findCoffeeResponsesByCoffeeIdLessThan(@Param("coffeeId") long coffeeId, Pageable pageable);
+
+    // 일괄 수정 대상 확인
+    @Query("select c.coffeeId from Coffee c where c.coffeeId in :coffeeIds")
+    List<Long> findExistingCoffeeIds(@Param("coffeeIds") Collection<Long> coffeeIds);
+
+    @Query("select c.coffeeId, c.coffeeCode from Coffee c where c.coffeeCode in :coffeeCodes")
+    List<Object[]> findCoffeeIdsByCoffeeCodes(@Param("coffeeCodes") Collection<String> coffeeCodes);
+
+    // 일괄 가격 변경: 변경 후 가격이 허용 범위 안인 행만 수정 (엔티티를 읽지 않고 버전/수정 시각도 함께 갱신)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Coffee c set c.price = c.price + :amount, c.version = c.version + 1, c.modifiedAt = :now " +
+            "where c.coffeeId in :coffeeIds and c.price + :amount between :minPrice and :maxPrice")
+    int addPrice(@Param("coffeeIds") Collection<Long> coffeeIds, @Param("amount") int amount,
+                 @Param("minPrice") int minPrice, @Param("maxPrice") int maxPrice,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Coffee c set c.price = c.price * (100 + :percent) / 100, c.version = c.version + 1, c.modifiedAt = :now " +
+            "where c.coffeeId in :coffeeIds and c.price * (100 + :percent) / 100 between :minPrice and :maxPrice")
+    int changePriceByPercent(@Param("coffeeIds") Collection<Long> coffeeIds, @Param("percent") int percent,
+                             @Param("minPrice") int minPrice, @Param("maxPrice") int maxPrice,
+                             @Param("now") LocalDateTime now);
+
+    // 상태가 이미 같은 행은 수정하지 않음
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Coffee c set c.coffeeStatus = :coffeeStatus, c.version = c.version + 1, c.modifiedAt = :now " +
+            "where c.coffeeId in :coffeeIds and c.coffeeStatus <> :coffeeStatus")
+    int updateCoffeeStatus(@Param("coffeeIds") Collection<Long> coffeeIds,
+                           @Param("coffeeStatus") Coffee.CoffeeStatus coffeeStatus,
+                           @Param("now") LocalDateTime now);
 }
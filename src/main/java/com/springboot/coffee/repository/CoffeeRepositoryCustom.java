@@ -0,0 +1,14 @@
+package com.springboot.coffee.repository;
+
+import com.springboot.coffee.entity.Coffee;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CoffeeRepositoryCustom {
+    // 2차 캐시에 있는 커피는 캐시에서, 없는 커피만 IN 쿼리 한 번으로 조회 (없는 아이디는 결과에서 빠짐)
+    // 캐시를 레플리카의 이전 데이터로 채우지 않도록 프라이머리에서 실행
+    @Transactional
+    List<Coffee> findAllByIdUsingCache(Collection<Long> coffeeIds);
+}
@@ -0,0 +1,39 @@
+package com.springboot.coffee.repository;
+
+import com.springboot.coffee.entity.Coffee;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class CoffeeRepositoryCustomImpl implements CoffeeRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Coffee> findAllByIdUsingCache(Collection<Long> coffeeIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        List<Coffee> coffees = new ArrayList<>(coffeeIds.size());
+        List<Long> misses = new ArrayList<>();
+        for (Long coffeeId : coffeeIds) {
+            if (cache.contains(Coffee.class, coffeeId)) {
+                Coffee coffee = entityManager.find(Coffee.class, coffeeId);
+                if (coffee != null) {
+                    coffees.add(coffee);
+                }
+            } else {
+                misses.add(coffeeId);
+            }
+        }
+        // 조회된 커피는 2차 캐시에 저장되어 다음부터는 쿼리 없이 조회
+        if (!misses.isEmpty()) {
+            coffees.addAll(entityManager.createQuery("select c from Coffee c where c.coffeeId in :coffeeIds", Coffee.class)
+                    .setParameter("coffeeIds", misses)
+                    .getResultList());
+        }
+        return coffees;
+    }
+}
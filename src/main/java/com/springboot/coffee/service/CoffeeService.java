@@ -1,25 +1,80 @@
 package com.springboot.coffee.service;
 
+import com.springboot.coffee.cache.CoffeeChangedEvent;
+import com.springboot.coffee.dto.CoffeeBulkPatchDto;
+import com.springboot.coffee.dto.CoffeeBulkUpdateResponseDto;
+import com.springboot.coffee.dto.CoffeeResponseDto;
 import com.springboot.coffee.entity.Coffee;
 import com.springboot.coffee.repository.CoffeeRepository;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
+import com.springboot.metrics.MetricsRegistry;
+import com.springboot.utils.CursorCreator;
+import com.springboot.utils.CustomBeanUtils;
+import com.springboot.utils.ExistenceFilter;
+import com.springboot.utils.OptimisticLockRetry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CoffeeService {
+    // 커피 가격 허용 범위 (CoffeePostDto, CoffeePatchDto와 동일)
+    private static final int MIN_PRICE = 100;
+    private static final int MAX_PRICE = 50000;
+
     private final CoffeeRepository coffeeRepository;
+    private final ApplicationEventPublisher publisher;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final CustomBeanUtils<Coffee> beanUtils;
+    // 등록된 커피코드 블룸 필터 (새 코드면 중복 확인 SELECT 생략)
+    private final ExistenceFilter coffeeCodeFilter;
 
-    public CoffeeService(CoffeeRepository coffeeRepository) {
+    public CoffeeService(CoffeeRepository coffeeRepository, ApplicationEventPublisher publisher,
+                         OptimisticLockRetry optimisticLockRetry, CustomBeanUtils<Coffee> beanUtils,
+                         MetricsRegistry metricsRegistry,
+                         @Value("${bloom.coffee-code.expected-insertions:10000}") long expectedCoffeeCodes,
+                         @Value("${bloom.coffee-code.fpp:0.01}") double coffeeCodeFpp) {
         this.coffeeRepository = coffeeRepository;
+        this.publisher = publisher;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.beanUtils = beanUtils;
+        this.coffeeCodeFilter = new ExistenceFilter("coffee_code", expectedCoffeeCodes, coffeeCodeFpp, metricsRegistry);
     }
 
+    // 시작 시 DB의 커피코드로 블룸 필터 채우기
+    // 레플리카에 아직 복제되지 않은 값이 빠지지 않도록 프라이머리에서 읽음 (readOnly x)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmCoffeeCodeFilter() {
+        try (Stream<String> coffeeCodes = coffeeRepository.streamCoffeeCodes()) {
+            coffeeCodeFilter.warm(coffeeCodes);
+        }
+    }
+
+    @Transactional
     public Coffee createCoffee(Coffee coffee){
         // 입력받은 커피코드를 대문자로 변경해서 DB에 저장해야함
         String coffeeCode = coffee.getCoffeeCode().toUpperCase();
@@ -27,51 +82,140 @@ public class CoffeeService {
         verifyExistCoffeeCode(coffeeCode);
         // 올바른 커피코드면 엔티티에 대문자로 바꾼 커피코드 set
         coffee.setCoffeeCode(coffeeCode);
-        return coffeeRepository.save(coffee);
+        Coffee savedCoffee = coffeeRepository.save(coffee);
+        coffeeCodeFilter.add(coffeeCode);
+        // 커밋되면 메뉴 캐시 갱신
+        publisher.publishEvent(new CoffeeChangedEvent(savedCoffee.getCoffeeId()));
+        return savedCoffee;
     }
 
-    // Coffee Update 메서드
+    // Coffee Update 메서드 (동시에 수정되면 다시 조회해서 재시도, 시도마다 새 트랜잭션)
     public Coffee updateCoffee(Coffee coffee) {
-        // coffeeId로 커피 찾고
-        Coffee findCoffee = findVerifiedCoffee(coffee.getCoffeeId());
-        // 수정가능한 필드들 ofNullable사용해서 Null이면 원래값, Null이 아니면 들어온 값으로 수정 (korName, engName, price, coffeeStatus)
-        Optional.ofNullable(coffee.getKorName())
-                .ifPresent(korName -> findCoffee.setKorName(korName));
-        Optional.ofNullable(coffee.getEngName())
-                .ifPresent(engName -> findCoffee.setEngName(engName));
-        Optional.ofNullable(coffee.getPrice())
-                .ifPresent(price -> findCoffee.setPrice(price));
-        Optional.ofNullable(coffee.getCoffeeStatus())
-                .ifPresent(coffeeStatus -> findCoffee.setCoffeeStatus(coffeeStatus));
-
-        // 수정 후 저장
-        return coffeeRepository.save(findCoffee);
+        return optimisticLockRetry.execute(() -> {
+            // coffeeId로 커피 찾고
+            Coffee findCoffee = findVerifiedCoffee(coffee.getCoffeeId());
+            // 수정가능한 필드들 중 Null이 아닌 값만 덮어쓰기 (korName, engName, price, coffeeStatus)
+            // 버전은 setter가 없어서 복사되지 않음
+            beanUtils.copyNonNullProperties(coffee, findCoffee);
+
+            // 수정 후 저장
+            Coffee savedCoffee = coffeeRepository.save(findCoffee);
+            publisher.publishEvent(new CoffeeChangedEvent(savedCoffee.getCoffeeId()));
+            return savedCoffee;
+        });
+    }
+
+    // 커피 일괄 수정 (대상 확인 1번 + 가격/상태별 UPDATE 1번씩, 커피 수와 상관없이 쿼리 수 고정)
+    @Transactional
+    public CoffeeBulkUpdateResponseDto updateCoffees(CoffeeBulkPatchDto bulkPatch) {
+        List<Long> notFoundCoffeeIds = new ArrayList<>();
+        List<String> notFoundCoffeeCodes = new ArrayList<>();
+        int requested;
+        Collection<Long> coffeeIds;
+        if (bulkPatch.getCoffeeIds() != null && !bulkPatch.getCoffeeIds().isEmpty()) {
+            Set<Long> requestedIds = new LinkedHashSet<>(bulkPatch.getCoffeeIds());
+            requested = requestedIds.size();
+            coffeeIds = new HashSet<>(coffeeRepository.findExistingCoffeeIds(requestedIds));
+            requestedIds.stream().filter(id -> !coffeeIds.contains(id)).forEach(notFoundCoffeeIds::add);
+        } else {
+            // 커피코드는 대문자로 저장되어 있음
+            Set<String> requestedCodes = bulkPatch.getCoffeeCodes().stream()
+                    .map(String::toUpperCase)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            requested = requestedCodes.size();
+            Map<String, Long> idsByCode = new HashMap<>();
+            coffeeRepository.findCoffeeIdsByCoffeeCodes(requestedCodes)
+                    .forEach(row -> idsByCode.put((String) row[1], (Long) row[0]));
+            coffeeIds = idsByCode.values();
+            requestedCodes.stream().filter(code -> !idsByCode.containsKey(code)).forEach(notFoundCoffeeCodes::add);
+        }
+
+        int priceUpdated = 0;
+        int statusUpdated = 0;
+        if (!coffeeIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            if (bulkPatch.getPriceAmount() != null) {
+                priceUpdated = coffeeRepository.addPrice(coffeeIds, bulkPatch.getPriceAmount(), MIN_PRICE, MAX_PRICE, now);
+            } else if (bulkPatch.getPricePercent() != null) {
+                priceUpdated = coffeeRepository.changePriceByPercent(coffeeIds, bulkPatch.getPricePercent(),
+                        MIN_PRICE, MAX_PRICE, now);
+            }
+            if (bulkPatch.getCoffeeStatus() != null) {
+                statusUpdated = coffeeRepository.updateCoffeeStatus(coffeeIds, bulkPatch.getCoffeeStatus(), now);
+            }
+        }
+        // 커밋되면 메뉴 캐시 갱신 (바뀐 커피 전체를 이벤트 하나로)
+        if (priceUpdated + statusUpdated > 0) {
+            publisher.publishEvent(new CoffeeChangedEvent(coffeeIds));
+        }
+
+        boolean priceChanged = bulkPatch.getPriceAmount() != null || bulkPatch.getPricePercent() != null;
+        return CoffeeBulkUpdateResponseDto.builder()
+                .requested(requested)
+                .matched(coffeeIds.size())
+                .priceUpdated(priceUpdated)
+                .priceSkipped(priceChanged ? coffeeIds.size() - priceUpdated : 0)
+                .statusUpdated(statusUpdated)
+                .notFoundCoffeeIds(notFoundCoffeeIds)
+                .notFoundCoffeeCodes(notFoundCoffeeCodes)
+                .build();
     }
 
     // 커피 단일 조회
+    @Transactional(readOnly = true)
     public Coffee findCoffee(long coffeeId){
         return findVerifiedCoffee(coffeeId);
     }
 
     // 커피 전체 조회
-    public Page<Coffee> findCoffees(int page, int size){
-        return coffeeRepository.findAll(PageRequest.of(page-1, size, Sort.by("coffeeId").descending()));
+    @Transactional(readOnly = true)
+    public Page<CoffeeResponseDto> findCoffees(int page, int size){
+        // 엔티티 대신 응답 형태로 바로 조회
+        return coffeeRepository.findCoffeeResponses(PageRequest.of(page-1, size, Sort.by("coffeeId").descending()));
+    }
+
+    // 커피 전체 조회(커서 페이지네이션)
+    @Transactional(readOnly = true)
+    public Slice<CoffeeResponseDto> findCoffees(String after, int size){
+        return coffeeRepository.findCoffeeResponsesByCoffeeIdLessThan(CursorCreator.decode(after),
+                PageRequest.of(0, size, Sort.by("coffeeId").descending()));
     }
 
     // 커피 삭제(DB에서 삭제하면 안되고 상태만 바꿈)
+    @Transactional
     public void deleteCoffee(long coffeeId){
         Coffee coffee = findVerifiedCoffee(coffeeId);
         coffee.setCoffeeStatus(Coffee.CoffeeStatus.COFFEE_SOLD_OUT);
         coffeeRepository.save(coffee);
+        publisher.publishEvent(new CoffeeChangedEvent(coffeeId));
     }
 
     // DB에 같은 커피코드 존재하는지 확인하는 메서드
     public void verifyExistCoffeeCode(String coffeeCode) {
+        // 블룸 필터에 없으면 확실히 새 코드이므로 DB 조회 생략
+        if (!coffeeCodeFilter.mightExist(coffeeCode)) {
+            return;
+        }
         // DB에서 커피코드 존재하는지 확인하고 없으면 예외처리
-        Optional<Coffee> coffee = coffeeRepository.findByCoffeeCode(coffeeCode);
-        if(coffee.isPresent()){
+        if(coffeeRepository.existsByCoffeeCode(coffeeCode)){
             throw new BusinessLogicException(ExceptionCode.COFFEE_CODE_EXISTS);
         }
+        coffeeCodeFilter.recordFalsePositive();
+    }
+
+    // 여러 coffeeId를 2차 캐시 또는 IN 쿼리 한 번으로 조회 (없는 아이디는 결과에서 빠짐)
+    public Map<Long, Coffee> findCoffeesByIds(Collection<Long> coffeeIds) {
+        return coffeeRepository.findAllByIdUsingCache(coffeeIds).stream()
+                .collect(Collectors.toMap(Coffee::getCoffeeId, Function.identity()));
+    }
+
+    // 여러 coffeeId를 IN 쿼리 한 번으로 조회, 하나라도 없으면 예외발생
+    public Map<Long, Coffee> findVerifiedCoffees(Collection<Long> coffeeIds) {
+        Map<Long, Coffee> coffees = findCoffeesByIds(coffeeIds);
+        if (!coffees.keySet().containsAll(coffeeIds)) {
+            throw new BusinessLogicException(ExceptionCode.COFFEE_NOT_FOUND);
+        }
+        return coffees;
     }
 
     // coffeeId가 존재하는지 확인 후 존재하면 반환, 존재하지 않으면 예외발생
@@ -0,0 +1,60 @@
+package com.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// 프라이머리/레플리카 커넥션 풀을 만들고 트랜잭션의 readOnly 여부로 라우팅
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String replicaUrl) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+    }
+
+    // 트랜잭션이 시작되어 readOnly 여부가 정해진 뒤에 커넥션을 얻도록 Lazy 프록시로 감쌈
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicationRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReplicationRoutingDataSource.REPLICA, replicaDataSource);
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
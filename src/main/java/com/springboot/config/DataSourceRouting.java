@@ -0,0 +1,33 @@
+package com.springboot.config;
+
+import java.util.function.Supplier;
+
+// 현재 스레드의 조회를 레플리카 대신 프라이머리로 보내야 하는지 표시
+// (자신이 방금 쓴 데이터를 다시 읽는 요청, 캐시를 채우는 조회 등)
+public class DataSourceRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    public static <T> T runOnPrimary(Supplier<T> supplier) {
+        boolean alreadyForced = isPrimaryForced();
+        forcePrimary();
+        try {
+            return supplier.get();
+        } finally {
+            if (!alreadyForced) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.springboot.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 로컬 전용: 프라이머리 H2의 스키마를 레플리카 H2에 만들고 데이터를 주기적으로 통째로 복사 (복제 지연 흉내)
+// 레플리카는 별도 DB이므로 레플리카 커넥션으로 쓴 데이터는 프라이머리에 반영되지 않고 다음 복사 때 사라짐
+// 라우팅을 켜고 app.datasource.replica.sync-interval-ms를 직접 설정했을 때만 동작 (기본 설정에서는 꺼져 있음)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"app.datasource.routing.enabled", "app.datasource.replica.sync-interval-ms"})
+public class H2ReplicaSync {
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final DataSource replicaDataSource;
+
+    // EntityManagerFactory를 주입받아서 Hibernate가 프라이머리에 스키마를 만든 뒤에 초기화되도록 함
+    public H2ReplicaSync(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                         @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                         EntityManagerFactory entityManagerFactory) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    // 레플리카는 조회만 하므로 외래 키 제약은 만들지 않음 (테이블 순서와 상관없이 복사)
+    @PostConstruct
+    public void copySchema() throws SQLException {
+        List<String> ddl = primaryJdbcTemplate.queryForList("SCRIPT NODATA", String.class).stream()
+                .filter(sql -> !sql.startsWith("--") && !sql.startsWith("CREATE USER"))
+                .filter(sql -> !sql.contains("FOREIGN KEY"))
+                .collect(Collectors.toList());
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+        sync();
+    }
+
+    // 레플리카의 모든 테이블을 비우고 프라이머리 데이터로 다시 채움 (한 트랜잭션이라 조회 중에 빈 테이블이 보이지 않음)
+    @Scheduled(fixedDelayString = "${app.datasource.replica.sync-interval-ms}")
+    public synchronized void sync() throws SQLException {
+        List<String> tables = primaryJdbcTemplate.queryForList(
+                "select table_name from information_schema.tables where table_schema = 'PUBLIC'", String.class);
+        List<String> inserts = primaryJdbcTemplate.queryForList("SCRIPT", String.class).stream()
+                .filter(sql -> sql.startsWith("INSERT INTO"))
+                .collect(Collectors.toList());
+
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    statement.executeUpdate("delete from \"" + table + "\"");
+                }
+                for (String sql : inserts) {
+                    statement.executeUpdate(sql);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                log.error("# replica sync failed", e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 쓰기 요청을 보낸 클라이언트는 잠시 동안 조회도 프라이머리에서 하도록 쿠키로 표시 (레플리카 지연 대비)
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String STICKY_COOKIE = "rw-primary";
+
+    private final int stickySeconds;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.routing.sticky-seconds:5}") int stickySeconds) {
+        this.stickySeconds = stickySeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isWrite(request)) {
+            Cookie cookie = new Cookie(STICKY_COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(stickySeconds);
+            response.addCookie(cookie);
+        } else if (hasStickyCookie(request)) {
+            DataSourceRouting.forcePrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clear();
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private boolean hasStickyCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.springboot.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 읽기 전용 트랜잭션은 레플리카, 나머지는 프라이머리로 라우팅
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !DataSourceRouting.isPrimaryForced()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,95 @@
+package com.springboot.config;
+
+import com.springboot.metrics.MetricsRegistry;
+import com.springboot.sql.StatementCountingDataSource;
+import com.springboot.utils.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// app.threads.virtual=true 이면 톰캣 요청 처리와 비동기 작업(StreamingResponseBody 등)을 가상 스레드에서 실행
+// JDBC는 블로킹이므로 커넥션 풀 앞에 세마포어를 두어 동시 접근 수를 제한
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+    private final MetricsRegistry metricsRegistry;
+    private final Map<String, DataSource> dataSources;
+
+    public VirtualThreadConfig(MetricsRegistry metricsRegistry, Map<String, DataSource> dataSources) {
+        this.metricsRegistry = metricsRegistry;
+        this.dataSources = dataSources;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor());
+    }
+
+    // 실제 커넥션 풀(Hikari) 빈마다 동시성 제한 DataSource로 감쌈 (라우팅 시 프라이머리/레플리카 각각)
+    // Lazy 프록시를 감싸면 실제 커넥션을 쓰지 않는 동안에도 허가를 잡고 있으므로 풀 바로 앞에 둠
+    // 다른 DataSource 후처리(SQL 집계 등)가 Hikari 빈을 먼저 감싸지 않도록 가장 먼저 실행
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("app.threads.jdbc.max-concurrency", Integer.class, 10);
+        long acquireTimeoutMillis = environment.getProperty("app.threads.jdbc.acquire-timeout-ms", Long.class, 30_000L);
+        return new ConcurrencyLimitingPostProcessor(maxConcurrency, acquireTimeoutMillis);
+    }
+
+    // 풀마다 게이지 등록 (dataSource 하나면 접미사 없음, 라우팅 시 _primary, _replica)
+    @EventListener(ApplicationReadyEvent.class)
+    public void bindJdbcConcurrencyMetrics() {
+        dataSources.forEach((beanName, dataSource) -> {
+            // 라우팅을 쓰지 않으면 dataSource 빈은 SQL 집계 DataSource로 한 번 더 감싸져 있음
+            DataSource target = dataSource instanceof StatementCountingDataSource
+                    ? ((StatementCountingDataSource) dataSource).getTargetDataSource() : dataSource;
+            if (target instanceof ConcurrencyLimitingDataSource) {
+                ConcurrencyLimitingDataSource limited = (ConcurrencyLimitingDataSource) target;
+                String suffix = "dataSource".equals(beanName) ? "" : "_" + beanName.replace("DataSource", "");
+                metricsRegistry.gauge("jdbc_concurrency_available_permits" + suffix, limited::getAvailablePermits);
+                metricsRegistry.gauge("jdbc_concurrency_waiting_threads" + suffix, limited::getWaitingThreads);
+            }
+        });
+    }
+
+    private static class ConcurrencyLimitingPostProcessor implements BeanPostProcessor, PriorityOrdered {
+        private final int maxConcurrency;
+        private final long acquireTimeoutMillis;
+
+        ConcurrencyLimitingPostProcessor(int maxConcurrency, long acquireTimeoutMillis) {
+            this.maxConcurrency = maxConcurrency;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource) {
+                return new ConcurrencyLimitingDataSource((DataSource) bean, maxConcurrency, acquireTimeoutMillis);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
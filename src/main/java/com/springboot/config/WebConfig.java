@@ -1,11 +1,27 @@
 package com.springboot.config;
 
+import com.springboot.metrics.MetricsInterceptor;
+import com.springboot.sql.StatementBudgetInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final MetricsInterceptor metricsInterceptor;
+    private final StatementBudgetInterceptor statementBudgetInterceptor;
+
+    public WebConfig(MetricsInterceptor metricsInterceptor, StatementBudgetInterceptor statementBudgetInterceptor) {
+        this.metricsInterceptor = metricsInterceptor;
+        this.statementBudgetInterceptor = statementBudgetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor); // 엔드포인트별 응답 시간 측정
+        registry.addInterceptor(statementBudgetInterceptor); // 엔드포인트별 SQL 문 개수 예산 설정
+    }
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -5,12 +5,24 @@ import lombok.Getter;
 public enum ExceptionCode {
     MEMBER_NOT_FOUND(404, "Member not found"),
     MEMBER_EXISTS(409, "Member exists"),
+    MEMBER_PHONE_EXISTS(409, "Member phone exists"),
     COFFEE_NOT_FOUND(404, "Coffee not found"),
     COFFEE_CODE_EXISTS(409, "Coffee Code exists"),
     ORDER_NOT_FOUND(404, "Order not found"),
     CANNOT_CHANGE_ORDER(403, "Order can not change"),
     NOT_IMPLEMENTATION(501, "Not Implementation"),
-    INVALID_MEMBER_STATUS(400, "Invalid member status");  // TO 추가된 부분
+    INVALID_MEMBER_STATUS(400, "Invalid member status"),  // TO 추가된 부분
+    INVALID_CURSOR(400, "Invalid cursor"),
+    ORDER_CREATE_FAILED(500, "Order create failed"),
+    INVALID_ORDER_ITEM(400, "Invalid order item"),
+    ORDER_ITEM_REJECTED(422, "Order item rejected"),
+    INVALID_EXPORT_FORMAT(400, "Invalid export format"),
+    ORDER_QUEUE_FULL(429, "Order queue is full"),
+    ORDER_TICKET_NOT_FOUND(404, "Order ticket not found"),
+    ORDER_INTAKE_STOPPED(503, "Order intake is stopped"),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(409, "Request with the same Idempotency-Key is in progress"),
+    IDEMPOTENCY_KEY_REUSED(422, "Idempotency-Key was used with a different request body"),
+    CONCURRENT_MODIFICATION(409, "Concurrent modification");
 
     @Getter
     private int status;
@@ -0,0 +1,153 @@
+package com.springboot.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.response.ErrorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key 헤더가 있는 POST 요청은 키별로 한 번만 실행하고,
+// 같은 키로 다시 오면 저장된 상태 코드와 본문을 그대로 반환 (모바일 클라이언트의 타임아웃 재시도 대비)
+// 같은 키에 본문이 다르면 다른 요청이므로 재생하지 않고 IDEMPOTENCY_KEY_REUSED(422)
+// 키는 클라이언트마다 따로 관리 (다른 클라이언트가 우연히 같은 키를 보내도 남의 응답을 받지 않도록)
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final List<String> paths;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                             @Value("${idempotency.paths:/v12/orders,/v12/members}") List<String> paths,
+                             @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = request.getRequestURI() + ":" + clientId(cachedRequest) + ":"
+                + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        String requestHash = DigestUtils.md5DigestAsHex(cachedRequest.getBody());
+
+        while (true) {
+            IdempotencyStore.Entry entry = new IdempotencyStore.Entry(requestHash);
+            IdempotencyStore.Entry existing = idempotencyStore.claim(key, entry);
+            if (existing == null) {
+                execute(key, entry, cachedRequest, response, filterChain);
+                return;
+            }
+            if (!existing.matches(requestHash)) {
+                writeError(response, ExceptionCode.IDEMPOTENCY_KEY_REUSED);
+                return;
+            }
+
+            // 같은 키의 요청이 처리 중이면 그 결과를 기다렸다가 그대로 반환
+            IdempotentResponse replay;
+            try {
+                replay = existing.await(waitTimeoutMillis);
+            } catch (TimeoutException e) {
+                writeError(response, ExceptionCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, ExceptionCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+                return;
+            }
+            if (replay != null) {
+                write(response, replay);
+                return;
+            }
+            // 첫 요청이 실패해서 키가 지워졌으면 다시 등록을 시도
+        }
+    }
+
+    // 인증된 사용자가 있으면 그 사용자, 없으면 본문의 회원 식별자(주문은 memberId, 회원 등록은 email),
+    // 둘 다 없으면 클라이언트 주소로 구분
+    private String clientId(CachedBodyRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user=" + principal.getName();
+        }
+        try {
+            JsonNode body = objectMapper.readTree(request.getBody());
+            if (body != null && body.hasNonNull("memberId")) {
+                return "member=" + body.get("memberId").asText();
+            }
+            if (body != null && body.hasNonNull("email")) {
+                return "email=" + body.get("email").asText();
+            }
+        } catch (IOException e) {
+            // JSON이 아니면 컨트롤러에서 400으로 처리되므로 주소로만 구분
+        }
+        return "addr=" + request.getRemoteAddr();
+    }
+
+    private void execute(String key, IdempotencyStore.Entry entry, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyStore.abandon(key, entry);
+            throw e;
+        }
+
+        // 서버 오류는 저장하지 않음 (클라이언트가 같은 키로 재시도할 수 있도록)
+        if (wrapper.getStatus() >= 500) {
+            idempotencyStore.abandon(key, entry);
+        } else {
+            idempotencyStore.complete(entry, new IdempotentResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(HttpServletResponse response, IdempotentResponse replay) throws IOException {
+        response.setStatus(replay.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (replay.getContentType() != null) {
+            response.setContentType(replay.getContentType());
+        }
+        if (replay.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, replay.getLocation());
+        }
+        response.setContentLength(replay.getBody().length);
+        response.getOutputStream().write(replay.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, ExceptionCode exceptionCode) throws IOException {
+        response.setStatus(exceptionCode.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(exceptionCode));
+    }
+}
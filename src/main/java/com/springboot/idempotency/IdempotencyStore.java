@@ -0,0 +1,110 @@
+package com.springboot.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Idempotency-Key별 응답 저장소
+// 처리 중인 키는 CompletableFuture로 등록되어 같은 키의 동시 요청은 결과를 기다림
+// 완료된 응답은 TTL 동안 보관하고, 최대 개수를 넘으면 오래된 것부터 제거
+// 키마다 첫 요청 본문의 해시를 함께 저장해서 같은 키로 다른 본문이 오면 재사용하지 않음
+@Component
+public class IdempotencyStore {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public IdempotencyStore(@Value("${idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${idempotency.ttl-minutes:60}") long ttlMinutes) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    // 새로 등록했으면 null, 이미 있는 키면 기존 항목 반환
+    public Entry claim(String key, Entry entry) {
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing == null) {
+            insertionOrder.add(key);
+            evictOverflow();
+            return null;
+        }
+        if (existing.isExpired()) {
+            entries.remove(key, existing);
+            return claim(key, entry);
+        }
+        return existing;
+    }
+
+    public void complete(Entry entry, IdempotentResponse response) {
+        entry.expiresAt = System.currentTimeMillis() + ttlMillis;
+        entry.future.complete(response);
+    }
+
+    // 처리에 실패한 키는 지워서 다시 요청할 수 있게 하고, 기다리던 요청들도 다시 시도하도록 null 전달
+    public void abandon(String key, Entry entry) {
+        entries.remove(key, entry);
+        entry.future.complete(null);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        entries.values().removeIf(Entry::isExpired);
+        insertionOrder.removeIf(key -> !entries.containsKey(key));
+    }
+
+    // 처리 중인 항목은 제거하지 않음 (제거하면 같은 요청이 중복 실행될 수 있음)
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            Entry entry = entries.get(oldest);
+            if (entry != null && !entry.future.isDone()) {
+                insertionOrder.add(oldest);
+                return;
+            }
+            if (entry != null) {
+                entries.remove(oldest, entry);
+            }
+        }
+    }
+
+    public static class Entry {
+        private final CompletableFuture<IdempotentResponse> future = new CompletableFuture<>();
+        private final String requestHash;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        public Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        // 첫 요청과 같은 본문인지 확인
+        public boolean matches(String requestHash) {
+            return this.requestHash.equals(requestHash);
+        }
+
+        // 제한 시간 안에 결과가 없으면 TimeoutException, 첫 요청이 실패했으면 null
+        public IdempotentResponse await(long timeoutMillis) throws TimeoutException, InterruptedException {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+
+        private boolean isExpired() {
+            return future.isDone() && expiresAt < System.currentTimeMillis();
+        }
+    }
+}
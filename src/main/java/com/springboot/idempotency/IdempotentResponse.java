@@ -0,0 +1,19 @@
+package com.springboot.idempotency;
+
+import lombok.Getter;
+
+// 첫 요청의 응답 (재요청 시 그대로 다시 씀)
+@Getter
+public class IdempotentResponse {
+    private final int status;
+    private final String contentType;
+    private final String location;
+    private final byte[] body;
+
+    public IdempotentResponse(int status, String contentType, String location, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.location = location;
+        this.body = body;
+    }
+}
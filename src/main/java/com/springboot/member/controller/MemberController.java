@@ -2,21 +2,30 @@ package com.springboot.member.controller;
 
 import com.springboot.member.dto.MemberPatchDto;
 import com.springboot.member.dto.MemberPostDto;
+import com.springboot.member.dto.MemberResponseDto;
 import com.springboot.member.entity.Member;
 import com.springboot.member.mapper.MemberMapper;
 import com.springboot.member.service.MemberService;
+import com.springboot.order.entity.Order;
+import com.springboot.order.mapper.OrderMapper;
+import com.springboot.order.service.OrderService;
+import com.springboot.utils.CursorCreator;
+import com.springboot.response.CursorResponseDto;
 import com.springboot.response.MultiResponseDto;
+import com.springboot.response.ResourceVersion;
 import com.springboot.response.SingleResponseDto;
+import com.springboot.sql.StatementBudget;
 import lombok.extern.log4j.Log4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
-import java.util.List;
 
 @RestController
 @RequestMapping("/v12/members")
@@ -24,11 +33,16 @@ import java.util.List;
 public class MemberController {
     private final MemberService memberService;
     private final MemberMapper mapper;
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
 
-    // memberService와 mapper 주입
-    public MemberController(MemberService memberService, MemberMapper mapper) {
+    // memberService와 mapper 주입 (주문 내역 조회를 위해 orderService, orderMapper도 주입)
+    public MemberController(MemberService memberService, MemberMapper mapper,
+                            OrderService orderService, OrderMapper orderMapper) {
         this.memberService = memberService;
         this.mapper = mapper;
+        this.orderService = orderService;
+        this.orderMapper = orderMapper;
     }
 
     @PostMapping
@@ -55,17 +69,50 @@ public class MemberController {
     }
 
     @GetMapping("/{member-id}")
-    public ResponseEntity getMember(@PathVariable("member-id") @Positive long memberId){
+    public ResponseEntity getMember(@PathVariable("member-id") @Positive long memberId, WebRequest webRequest){
+        // 버전만 먼저 조회해서 변경이 없으면 304 (회원 조회 x)
+        ResourceVersion version = memberService.findMemberVersion(memberId);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
         Member member = memberService.findMember(memberId);
         return new ResponseEntity(new SingleResponseDto<>(mapper.memberToMemberResponseDto(member)), HttpStatus.OK);
     }
 
     @GetMapping
     public ResponseEntity getMembers(@Positive @RequestParam int page, @Positive @RequestParam int size){
-        Page<Member> memberPage = memberService.findMembers(page , size);
-        List<Member> members = memberPage.getContent();
+        Page<MemberResponseDto> memberPage = memberService.findMembers(page , size);
         return new ResponseEntity(
-                new MultiResponseDto<>(mapper.membersToMemberResponseDtos(members), memberPage),
+                new MultiResponseDto<>(memberPage.getContent(), memberPage),
+                HttpStatus.OK
+        );
+    }
+
+    // page 파라미터가 없으면 커서 페이지네이션
+    @GetMapping(params = "!page")
+    public ResponseEntity getMembers(@RequestParam(required = false) String after,
+                                     @Positive @RequestParam int size){
+        Slice<MemberResponseDto> memberSlice = memberService.findMembers(after, size);
+        return new ResponseEntity(
+                new CursorResponseDto<>(memberSlice.getContent(), memberSlice,
+                        CursorCreator.nextCursor(memberSlice, MemberResponseDto::getMemberId)),
+                HttpStatus.OK
+        );
+    }
+
+    // 회원별 주문 내역 (커서 페이지네이션, 상태 필터 선택)
+    // 회원 확인 + 아이디 슬라이스 + 상세 조회 (주문이 많은 회원도 쿼리 수와 조회 범위가 같음)
+    @StatementBudget(3)
+    @GetMapping("/{member-id}/orders")
+    public ResponseEntity getMemberOrders(@PathVariable("member-id") @Positive long memberId,
+                                          @RequestParam(required = false) String after,
+                                          @Positive @RequestParam int size,
+                                          @RequestParam(required = false) Order.OrderStatus orderStatus){
+        Slice<Long> orderIds = orderService.findMemberOrderIds(memberId, orderStatus, after, size);
+        Slice<Order> orderSlice = orderService.findOrders(orderIds);
+        return new ResponseEntity(
+                new CursorResponseDto<>(orderMapper.ordersToOrderResponseDtos(orderSlice.getContent()), orderSlice,
+                        CursorCreator.nextCursor(orderSlice, Order::getOrderId)),
                 HttpStatus.OK
         );
     }
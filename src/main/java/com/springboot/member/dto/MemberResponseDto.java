@@ -1,11 +1,13 @@
 package com.springboot.member.dto;
 
 import com.springboot.member.entity.Member;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 @Builder
 @Getter
+@AllArgsConstructor
 public class
 MemberResponseDto {
     private long memberId;
@@ -19,4 +21,9 @@ MemberResponseDto {
         return memberStatus.getStatus();
     }
 
+    // 아직 DB에 반영되지 않은 스탬프 개수 추가
+    public void addStampCount(int pendingCount) {
+        this.stampCount += pendingCount;
+    }
+
 }
@@ -2,6 +2,7 @@ package com.springboot.member.entity;
 
 import com.springboot.config.BaseEntity;
 import com.springboot.order.entity.Order;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,9 +18,15 @@ import java.util.List;
 @Entity
 public class Member extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 50)
     private Long memberId;
 
+    // 낙관적 락 (동시에 수정되면 나중에 커밋하는 쪽이 실패)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @Column(nullable = false, updatable = false, unique = true)
     private String email;
 
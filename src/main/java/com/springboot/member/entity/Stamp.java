@@ -1,6 +1,7 @@
 package com.springboot.member.entity;
 
 import com.springboot.config.BaseEntity;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -13,9 +14,15 @@ import javax.persistence.*;
 @Entity
 public class Stamp extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stamp_seq")
+    @SequenceGenerator(name = "stamp_seq", sequenceName = "stamp_seq", allocationSize = 50)
     private Long stampId;
 
+    // 낙관적 락 (동시에 수정되면 나중에 커밋하는 쪽이 실패)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @Column(nullable = false)
     private int stampCount;
 
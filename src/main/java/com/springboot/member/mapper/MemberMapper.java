@@ -4,26 +4,33 @@ import com.springboot.member.dto.MemberPatchDto;
 import com.springboot.member.dto.MemberPostDto;
 import com.springboot.member.dto.MemberResponseDto;
 import com.springboot.member.entity.Member;
+import com.springboot.member.service.StampCounter;
 import org.mapstruct.Mapper;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 @Mapper(componentModel = "spring")
-public interface MemberMapper {
-    Member memberPostDtoToMember (MemberPostDto memberPostDto);
-    Member memberPatchDtoToMember (MemberPatchDto memberPatchDto);
-    default MemberResponseDto memberToMemberResponseDto(Member member){
+public abstract class MemberMapper {
+    // 아직 DB에 반영되지 않은 스탬프 개수를 응답에 포함하기 위해 주입
+    @Autowired
+    protected StampCounter stampCounter;
+
+    public abstract Member memberPostDtoToMember (MemberPostDto memberPostDto);
+    public abstract Member memberPatchDtoToMember (MemberPatchDto memberPatchDto);
+    public MemberResponseDto memberToMemberResponseDto(Member member){
         MemberResponseDto dto = MemberResponseDto.builder()
                 .memberId(member.getMemberId())
                 .email(member.getEmail())
                 .name(member.getName())
                 .phone(member.getPhone())
                 .memberStatus(member.getMemberStatus())
-                .stampCount(member.getStamp().getStampCount())
+                .stampCount(member.getStamp().getStampCount()
+                        + stampCounter.getPendingCount(member.getMemberId()))
                 .build();
         return dto;
     }
-    List<MemberResponseDto> membersToMemberResponseDtos(List<Member> members);
+    public abstract List<MemberResponseDto> membersToMemberResponseDtos(List<Member> members);
 
 
 }
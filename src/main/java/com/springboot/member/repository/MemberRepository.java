@@ -1,11 +1,53 @@
 package com.springboot.member.repository;
 
+import com.springboot.member.dto.MemberResponseDto;
 import com.springboot.member.entity.Member;
+import com.springboot.response.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail (String email);
+    // 이메일/전화번호 존재 여부만 확인 (엔티티 로딩 x)
+    boolean existsByEmail(String email);
+    boolean existsByPhone(String phone);
+    // 블룸 필터 초기화용 스트리밍 (트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select m.email from Member m")
+    Stream<String> streamEmails();
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select m.phone from Member m")
+    Stream<String> streamPhones();
+    // 전달받은 아이디 중 실제로 존재하는 회원 아이디만 조회
+    @Query("select m.memberId from Member m where m.memberId in :memberIds")
+    List<Long> findExistingMemberIds(@Param("memberIds") Collection<Long> memberIds);
+    // 목록 조회: 엔티티 대신 응답 형태로 바로 조회 (스탬프는 조인 한 번)
+    @Query(value = "select new com.springboot.member.dto.MemberResponseDto(" +
+            "m.memberId, m.email, m.name, m.phone, m.memberStatus, s.stampCount) " +
+            "from Member m join m.stamp s",
+            countQuery = "select count(m) from Member m")
+    Page<MemberResponseDto> findMemberResponses(Pageable pageable);
+    // 커서 모드 조회
+    @Query("select new com.springboot.member.dto.MemberResponseDto(" +
+            "m.memberId, m.email, m.name, m.phone, m.memberStatus, s.stampCount) " +
+            "from Member m join m.stamp s where m.memberId < :memberId")
+    Slice<MemberResponseDto> findMemberResponsesByMemberIdLessThan(@Param("memberId") long memberId,
+                                                                   Pageable pageable);
+    // 조건부 GET 검증값: 응답에 스탬프 개수가 포함되므로 스탬프 버전과 수정 시각도 반영
+    @Query("select new com.springboot.response.ResourceVersion(" +
+            "m.memberId, m.version + s.version, m.modifiedAt, s.modifiedAt) " +
+            "from Member m join m.stamp s where m.memberId = :memberId")
+    Optional<ResourceVersion> findResourceVersion(@Param("memberId") long memberId);
 }
@@ -2,61 +2,140 @@ package com.springboot.member.service;
 
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
+import com.springboot.metrics.MetricsRegistry;
+import com.springboot.member.dto.MemberResponseDto;
 import com.springboot.member.entity.Member;
 import com.springboot.member.entity.Stamp;
 import com.springboot.member.repository.MemberRepository;
+import com.springboot.response.ResourceVersion;
+import com.springboot.utils.CursorCreator;
+import com.springboot.utils.CustomBeanUtils;
+import com.springboot.utils.ExistenceFilter;
+import com.springboot.utils.OptimisticLockRetry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class MemberService {
     private final MemberRepository memberRepository;
+    private final StampCounter stampCounter;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final CustomBeanUtils<Member> beanUtils;
+    // 가입된 이메일/전화번호 블룸 필터 (새 값이면 중복 확인 SELECT 생략)
+    private final ExistenceFilter emailFilter;
+    private final ExistenceFilter phoneFilter;
 
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, StampCounter stampCounter,
+                         OptimisticLockRetry optimisticLockRetry, CustomBeanUtils<Member> beanUtils,
+                         MetricsRegistry metricsRegistry,
+                         @Value("${bloom.member.expected-insertions:1000000}") long expectedMembers,
+                         @Value("${bloom.member.fpp:0.01}") double memberFpp) {
         this.memberRepository = memberRepository;
+        this.stampCounter = stampCounter;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.beanUtils = beanUtils;
+        this.emailFilter = new ExistenceFilter("member_email", expectedMembers, memberFpp, metricsRegistry);
+        this.phoneFilter = new ExistenceFilter("member_phone", expectedMembers, memberFpp, metricsRegistry);
     }
 
+    // 시작 시 DB의 이메일/전화번호로 블룸 필터 채우기
+    // 레플리카에 아직 복제되지 않은 값이 빠지지 않도록 프라이머리에서 읽음 (readOnly x)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmMemberFilters() {
+        try (Stream<String> emails = memberRepository.streamEmails()) {
+            emailFilter.warm(emails);
+        }
+        try (Stream<String> phones = memberRepository.streamPhones()) {
+            phoneFilter.warm(phones);
+        }
+    }
+
+    @Transactional
     public Member createMember(Member member) {
         // 등록된 이메일인지 확인
         verifyExistsEmail(member.getEmail());
+        // 등록된 전화번호인지 확인
+        verifyExistsPhone(member.getPhone());
         // 멤버 엔티티의 유효성 검증이 끝나면 등록과 동시에 스탬프 생성
         member.setStamp(new Stamp());
         // 스탬프까지 보유한 완전한 엔티티 등록 후 반환
-        return memberRepository.save(member);
+        Member savedMember = memberRepository.save(member);
+        emailFilter.add(savedMember.getEmail());
+        phoneFilter.add(savedMember.getPhone());
+        return savedMember;
     }
 
     public Member updateMember(Member member) {
         // 파라미터로 받는 member는 memberUpdateDto를 엔티티로 매핑해놓은 것이기 때문에 null이면 원래 필드의 데이터, 값이 있으면 그 값으로 수정해야함
-        // 아이디는 가지고 있기 때문에 아이디로 해당하는 member 소환
-        Member foundMember = findVerifiedMember(member.getMemberId());
-        // 필드별 값 있으면 수정하는데 변경 가능한 필드만 확인
-        Optional.ofNullable(member.getPhone())
-                .ifPresent(phone -> foundMember.setPhone(phone));
-        Optional.ofNullable(member.getName())
-                .ifPresent(foundMember::setName);
-        Optional.ofNullable(member.getMemberStatus())
-                .ifPresent(foundMember::setMemberStatus);
-        // 수정했으면 ModifiedAt도 업데이트 해줘야하지만 BaseEntity의 Listner에서 자동으로 감시하고 수정해줌
-        // 변경된 값을 DB에 다시 저장
-        return memberRepository.save(foundMember);
+        // 다른 요청과 동시에 수정되면 다시 조회해서 재시도
+        return optimisticLockRetry.execute(() -> {
+            // 아이디는 가지고 있기 때문에 아이디로 해당하는 member 소환
+            Member foundMember = findVerifiedMember(member.getMemberId());
+            // 전화번호가 바뀌면 다른 회원이 쓰고 있는지 먼저 확인
+            Optional.ofNullable(member.getPhone())
+                    .filter(phone -> !phone.equals(foundMember.getPhone()))
+                    .ifPresent(phone -> {
+                        verifyExistsPhone(phone);
+                        phoneFilter.add(phone);
+                    });
+            // 값이 있는 필드만 덮어쓰기 (phone, name, memberStatus / 스탬프, 주문 목록, 버전은 복사되지 않음)
+            beanUtils.copyNonNullProperties(member, foundMember);
+            // 수정했으면 ModifiedAt도 업데이트 해줘야하지만 BaseEntity의 Listner에서 자동으로 감시하고 수정해줌
+            // 변경된 값을 DB에 다시 저장
+            return memberRepository.save(foundMember);
+        });
 
     }
 
+    @Transactional(readOnly = true)
     public Member findMember(long memberId) {
         // 전달받은 memberId로 찾아서 반환
         return findVerifiedMember(memberId);
     }
 
-    public Page<Member> findMembers(int page, int size) {
-        // 전달받은 page와 size로 PageRequest객체 생성해서 넣고 반환
-        return memberRepository.findAll(PageRequest.of(page-1, size, Sort.by("memberId").descending()));
+    @Transactional(readOnly = true)
+    public Page<MemberResponseDto> findMembers(int page, int size) {
+        // 전달받은 page와 size로 PageRequest객체 생성해서 응답 형태로 바로 조회 (영속 엔티티 생성 x)
+        Page<MemberResponseDto> members = memberRepository.findMemberResponses(
+                PageRequest.of(page-1, size, Sort.by("memberId").descending()));
+        members.forEach(this::addPendingStampCount);
+        return members;
     }
 
+    @Transactional(readOnly = true)
+    public Slice<MemberResponseDto> findMembers(String after, int size) {
+        // 커서 이후(아이디가 더 작은) 회원을 size만큼 조회
+        Slice<MemberResponseDto> members = memberRepository.findMemberResponsesByMemberIdLessThan(
+                CursorCreator.decode(after), PageRequest.of(0, size, Sort.by("memberId").descending()));
+        members.forEach(this::addPendingStampCount);
+        return members;
+    }
+
+    // 조건부 GET 검증값 (회원 엔티티를 로딩하지 않고 버전/수정 시각만 조회)
+    @Transactional(readOnly = true)
+    public ResourceVersion findMemberVersion(long memberId) {
+        ResourceVersion version = memberRepository.findResourceVersion(memberId).orElseThrow(() ->
+                new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND));
+        // 아직 DB에 반영되지 않은 스탬프도 응답에 포함되므로 ETag에 반영
+        return version.withPending(stampCounter.getPendingCount(memberId));
+    }
+
+    @Transactional
     public void deleteMember(long memberId) {
         // 삭제를 한다고 DB에서 삭제를 하면 안되기 때문에 멤버의 상태만 탈퇴 상태로 변경
         Member foundMember = findVerifiedMember(memberId);
@@ -74,12 +153,47 @@ public class MemberService {
         return findMember;
     }
 
+    private void addPendingStampCount(MemberResponseDto member) {
+        member.addStampCount(stampCounter.getPendingCount(member.getMemberId()));
+    }
+
+    // 스탬프 증가분은 StampCounter에 누적 (주기적으로 DB 반영)
+    public void addStampCount(long memberId, int count) {
+        stampCounter.add(memberId, count);
+    }
+
+    // 회원을 조회하지 않고 존재 여부만 확인
+    public void verifyExistsMember(long memberId) {
+        if (!memberRepository.existsById(memberId))
+            throw new BusinessLogicException(ExceptionCode.MEMBER_NOT_FOUND);
+    }
+
+    // 여러 회원의 존재 여부를 IN 쿼리 한 번으로 확인
+    public Set<Long> findExistingMemberIds(Collection<Long> memberIds) {
+        return new HashSet<>(memberRepository.findExistingMemberIds(memberIds));
+    }
+
+    // FK만 필요할 때 사용하는 프록시 (조회 쿼리 발생 x)
+    public Member findMemberReference(long memberId) {
+        return memberRepository.getReferenceById(memberId);
+    }
+
     // 가입 시 존재하는 이미 존재하는 이메일인지 확인해야함
     private void verifyExistsEmail(String email) {
-        // Repository에 findByEmail 메서드 추상화 시켜놓고 사용
+        // 블룸 필터에 없으면 확실히 새 이메일이므로 DB 조회 생략
+        if (!emailFilter.mightExist(email))
+            return;
         // 있으면 Exception 발생시켜야함
-        Optional<Member> member = memberRepository.findByEmail(email);
-        if (member.isPresent())
+        if (memberRepository.existsByEmail(email))
             throw new BusinessLogicException(ExceptionCode.MEMBER_EXISTS);
+        emailFilter.recordFalsePositive();
+    }
+
+    private void verifyExistsPhone(String phone) {
+        if (!phoneFilter.mightExist(phone))
+            return;
+        if (memberRepository.existsByPhone(phone))
+            throw new BusinessLogicException(ExceptionCode.MEMBER_PHONE_EXISTS);
+        phoneFilter.recordFalsePositive();
     }
 }
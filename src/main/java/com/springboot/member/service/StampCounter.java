@@ -0,0 +1,131 @@
+package com.springboot.member.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 회원별 스탬프 증가분을 메모리에 모아두었다가 주기적으로 한 번에 반영하는 카운터
+// 같은 회원의 주문이 몰려도 STAMP 행을 읽고 쓰지 않으므로 증가분이 유실되지 않음
+// 버전도 함께 올려서 엔티티로 읽어둔 Stamp를 저장하는 쪽이 충돌을 감지하도록 함
+// 반영 결과가 음수가 되는 증가분은 적립/차감이 어긋났다는 뜻이므로 반영하지 않고 오류로 기록
+@Slf4j
+@Component
+public class StampCounter {
+    private static final String FLUSH_SQL =
+            "update stamp set stamp_count = stamp_count + ?, version = version + 1, " +
+            "modified_at = current_timestamp " +
+            "where stamp_id = (select stamp_id from member where member_id = ?) and stamp_count + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 배치 전체를 한 트랜잭션으로 반영 (일부만 반영된 채 실패해서 다시 적립되는 일이 없도록)
+    private final TransactionTemplate transactionTemplate;
+    // 아직 반영되지 않은 증가분 (LongAdder로 스트라이핑되어 락 없이 누적)
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // DB에 반영 중인 증가분 (반영이 끝나면 빈 맵으로 한 번에 교체)
+    private volatile Map<Long, Long> flushing = Collections.emptyMap();
+
+    public StampCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 누적, 롤백되면 반영하지 않음
+    public void add(long memberId, int count) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(memberId, count);
+                }
+            });
+        } else {
+            increment(memberId, count);
+        }
+    }
+
+    // DB에 아직 반영되지 않은 스탬프 개수
+    public int getPendingCount(long memberId) {
+        LongAdder adder = pending.get(memberId);
+        long count = adder == null ? 0 : adder.sum();
+        return (int) (count + flushing.getOrDefault(memberId, 0L));
+    }
+
+    @Scheduled(fixedDelayString = "${stamp.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> snapshot = drain();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(snapshot.size());
+        snapshot.forEach((memberId, delta) -> batchArgs.add(new Object[]{delta, memberId, delta}));
+        try {
+            int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+            // 반영되지 않은 행은 음수가 되는 차감이거나 없는 회원 (다시 시도해도 같으므로 버리고 기록)
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    log.error("# stamp delta rejected, memberId={}, delta={}", batchArgs.get(i)[1], batchArgs.get(i)[0]);
+                }
+            }
+        } catch (DataAccessException e) {
+            // 배치 전체가 롤백되었으므로 증가분을 그대로 되돌려서 다음 주기에 다시 시도
+            log.error("# stamp flush failed, {} members will be retried", batchArgs.size(), e);
+            snapshot.forEach(this::increment);
+        } finally {
+            flushing = Collections.emptyMap();
+        }
+    }
+
+    // 종료 시 남은 증가분 동기 반영
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // 회원별 누적분을 sumThenReset으로 꺼내서 반영 중 맵으로 옮김 (누적 쪽은 락 없이 계속 진행)
+    // 지난 주기 이후 증가분이 없는 회원의 엔트리는 제거해서 맵이 계속 커지지 않도록 함
+    private Map<Long, Long> drain() {
+        Map<Long, Long> snapshot = new ConcurrentHashMap<>();
+        flushing = snapshot;
+        pending.forEach((memberId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                snapshot.put(memberId, delta);
+            } else if (pending.remove(memberId, adder)) {
+                // 제거 직전에 들어온 증가분은 현재 엔트리로 옮김 (누적하는 쪽도 같은 확인을 하므로 한쪽에서만 옮겨짐)
+                moveResidue(memberId, adder);
+            }
+        });
+        return snapshot;
+    }
+
+    private void increment(long memberId, long count) {
+        LongAdder adder = pending.computeIfAbsent(memberId, id -> new LongAdder());
+        adder.add(count);
+        // 더하는 사이에 엔트리가 제거됐으면 제거된 LongAdder에 더한 값을 현재 엔트리로 옮김
+        if (pending.get(memberId) != adder) {
+            moveResidue(memberId, adder);
+        }
+    }
+
+    private void moveResidue(long memberId, LongAdder removed) {
+        long residue = removed.sumThenReset();
+        if (residue != 0) {
+            increment(memberId, residue);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.springboot.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+public class MetricsConfig {
+    private final MetricsRegistry metricsRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public MetricsConfig(MetricsRegistry metricsRegistry, EntityManagerFactory entityManagerFactory) {
+        this.metricsRegistry = metricsRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // @Service 클래스의 모든 public 메서드에 실행 시간 측정 적용
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MetricsRegistry> metricsRegistry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true),
+                new ServiceMetricsInterceptor(metricsRegistry));
+    }
+
+    // Hibernate 세션 통계 (hibernate.generate_statistics: true 필요)
+    @EventListener(ApplicationReadyEvent.class)
+    public void bindHibernateStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        metricsRegistry.gauge("hibernate_statements_prepared_total", statistics::getPrepareStatementCount);
+        metricsRegistry.gauge("hibernate_queries_executed_total", statistics::getQueryExecutionCount);
+        metricsRegistry.gauge("hibernate_entities_loaded_total", statistics::getEntityLoadCount);
+        metricsRegistry.gauge("hibernate_entities_fetched_total", statistics::getEntityFetchCount);
+        metricsRegistry.gauge("hibernate_collections_fetched_total", statistics::getCollectionFetchCount);
+        metricsRegistry.gauge("hibernate_collections_loaded_total", statistics::getCollectionLoadCount);
+        metricsRegistry.gauge("hibernate_flushes_total", statistics::getFlushCount);
+        metricsRegistry.gauge("hibernate_sessions_opened_total", statistics::getSessionOpenCount);
+        // 2차 캐시 / 쿼리 캐시 적중률
+        metricsRegistry.gauge("hibernate_second_level_cache_hits_total", statistics::getSecondLevelCacheHitCount);
+        metricsRegistry.gauge("hibernate_second_level_cache_misses_total", statistics::getSecondLevelCacheMissCount);
+        metricsRegistry.gauge("hibernate_second_level_cache_puts_total", statistics::getSecondLevelCachePutCount);
+        metricsRegistry.gauge("hibernate_query_cache_hits_total", statistics::getQueryCacheHitCount);
+        metricsRegistry.gauge("hibernate_query_cache_misses_total", statistics::getQueryCacheMissCount);
+        metricsRegistry.gauge("hibernate_query_cache_puts_total", statistics::getQueryCachePutCount);
+    }
+}
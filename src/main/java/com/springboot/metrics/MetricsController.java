@@ -0,0 +1,27 @@
+package com.springboot.metrics;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 내부 수집용 메트릭 엔드포인트 (Prometheus 텍스트 형식)
+@RestController
+@RequestMapping("/internal/metrics")
+public class MetricsController {
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @GetMapping
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok()
+                .contentType(PROMETHEUS_TEXT)
+                .body(metricsRegistry.scrape());
+    }
+}
@@ -0,0 +1,40 @@
+package com.springboot.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 엔드포인트(URI 패턴)별 응답 시간 기록
+@Component
+public class MetricsInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsInterceptor(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String labels = "method=\"" + request.getMethod() + "\",uri=\"" + (pattern == null ? "UNMAPPED" : pattern)
+                + "\",status=\"" + response.getStatus() + "\"";
+        metricsRegistry.record("http_server_requests_seconds", labels, System.nanoTime() - (long) start);
+    }
+}
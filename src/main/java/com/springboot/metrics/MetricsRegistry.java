@@ -0,0 +1,63 @@
+package com.springboot.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+// 애플리케이션 내장 메트릭 저장소 (타이머, 카운터, 게이지)
+// 메트릭 이름 -> 라벨 문자열(예: method="GET",uri="/v12/orders") -> 값
+@Component
+public class MetricsRegistry {
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final Map<String, Map<String, LatencyHistogram>> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, LongAdder>> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    public void record(String name, String labels, long nanos) {
+        timers.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, key -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    public void increment(String name, String labels) {
+        counters.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels, key -> new LongAdder())
+                .increment();
+    }
+
+    public void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    // Prometheus 텍스트 형식으로 출력
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        timers.forEach((name, series) -> {
+            sb.append("# TYPE ").append(name).append(" summary\n");
+            series.forEach((labels, histogram) -> {
+                for (double quantile : QUANTILES) {
+                    sb.append(name).append('{').append(labels).append(labels.isEmpty() ? "" : ",")
+                            .append("quantile=\"").append(quantile).append("\"} ")
+                            .append(histogram.getQuantileSeconds(quantile)).append('\n');
+                }
+                sb.append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+                sb.append(name).append("_sum{").append(labels).append("} ").append(histogram.getSumSeconds()).append('\n');
+            });
+        });
+        counters.forEach((name, series) -> {
+            sb.append("# TYPE ").append(name).append(" counter\n");
+            series.forEach((labels, counter) ->
+                    sb.append(name).append('{').append(labels).append("} ").append(counter.sum()).append('\n'));
+        });
+        gauges.forEach((name, supplier) -> {
+            sb.append("# TYPE ").append(name).append(" gauge\n");
+            sb.append(name).append(' ').append(supplier.getAsDouble()).append('\n');
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// @Service 메서드(createOrder, findOrders 등)별 실행 시간 기록
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    private final ObjectProvider<MetricsRegistry> metricsRegistryProvider;
+    private final Map<Method, String> labelsCache = new ConcurrentHashMap<>();
+    private volatile MetricsRegistry metricsRegistry;
+
+    public ServiceMetricsInterceptor(ObjectProvider<MetricsRegistry> metricsRegistryProvider) {
+        this.metricsRegistryProvider = metricsRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            String labels = labelsCache.computeIfAbsent(invocation.getMethod(), method ->
+                    "class=\"" + method.getDeclaringClass().getSimpleName() + "\",method=\"" + method.getName() + "\"");
+            getMetricsRegistry().record("service_method_seconds", labels, System.nanoTime() - start);
+        }
+    }
+
+    private MetricsRegistry getMetricsRegistry() {
+        if (metricsRegistry == null) {
+            metricsRegistry = metricsRegistryProvider.getObject();
+        }
+        return metricsRegistry;
+    }
+}
@@ -1,21 +1,35 @@
 package com.springboot.order.controller;
 
 import com.springboot.member.service.MemberService;
+import com.springboot.order.dto.OrderBulkCancelDto;
 import com.springboot.order.dto.OrderPatchDto;
 import com.springboot.order.dto.OrderPostDto;
 import com.springboot.order.entity.Order;
 import com.springboot.order.mapper.OrderMapper;
+import com.springboot.order.service.OrderBatchResult;
+import com.springboot.order.service.OrderExportService;
 import com.springboot.order.service.OrderService;
+import com.springboot.utils.CursorCreator;
+import com.springboot.response.CursorResponseDto;
 import com.springboot.response.MultiResponseDto;
+import com.springboot.response.ResourceVersion;
 import com.springboot.response.SingleResponseDto;
+import com.springboot.sql.StatementBudget;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,40 +39,107 @@ public class OrderController {
     private OrderService orderService;
     private OrderMapper orderMapper;
     private MemberService memberService;
+    private OrderExportService orderExportService;
 
-    public OrderController(OrderService orderService, OrderMapper orderMapper, MemberService memberService) {
+    public OrderController(OrderService orderService, OrderMapper orderMapper, MemberService memberService,
+                           OrderExportService orderExportService) {
         this.orderService = orderService;
         this.orderMapper = orderMapper;
         this.memberService = memberService;
+        this.orderExportService = orderExportService;
     }
 
+    // 회원 확인(1) + 커피 조회(최대 1) + 시퀀스(최대 2) + 주문/주문 커피 INSERT(2) + 판매 집계 MERGE(1)
+    // + 같은 날 첫 판매가 동시에 들어와 MERGE를 다시 실행하는 경우(1)
+    // 회원은 FK만 쓰는 프록시라 초기화 쿼리가 없고, 스탬프는 요청이 끝난 뒤 따로 반영되므로 포함하지 않음
+    @StatementBudget(8)
     @PostMapping
     public ResponseEntity postOrder(@Valid @RequestBody OrderPostDto dto){
         Order order = orderService.createOrder(orderMapper.orderPostDtoToOrder(dto));
         return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderToOrderResponseDto(order)), HttpStatus.CREATED);
     }
 
+    // 주문 일괄 등록 (항목별로 생성된 주문 아이디 또는 실패 사유 반환)
+    // 항목 검증은 서비스에서 하나씩 (잘못된 항목이 있어도 요청 전체를 거절하지 않음)
+    @PostMapping("/batch")
+    public ResponseEntity postOrders(@RequestBody @Size(min = 1, max = 1000) List<OrderPostDto> dtos){
+        List<OrderBatchResult> results = orderService.createOrderRequests(dtos);
+        return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderBatchResultsToOrderBatchResponseDtos(results)), HttpStatus.OK);
+    }
+
     @PatchMapping("/{order-id}")
     public ResponseEntity patchOrder(@Valid @RequestBody OrderPatchDto dto){
         Order order = orderService.updateOrder(orderMapper.orderPatchDtoToOrder(dto));
         return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderToOrderResponseDto(order)), HttpStatus.OK);
     }
 
+    // 버전만 먼저 조회해서 변경이 없으면 304 (주문 조회 x)
     @GetMapping("/{order-id}")
-    public ResponseEntity getOrder(@Positive @PathVariable("/{order-id}") long orderId){
+    public ResponseEntity getOrder(@Positive @PathVariable("order-id") long orderId, WebRequest webRequest){
+        ResourceVersion version = orderService.findOrderVersion(orderId);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
         Order order = orderService.findOrder(orderId);
         return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderToOrderResponseDto(order)), HttpStatus.OK);
     }
 
+    // count + 아이디 페이지 + 검증값 + 상세 조회 (변경이 없으면 상세 조회 없이 304)
+    @StatementBudget(4)
     @GetMapping
     public ResponseEntity getOrders(@Positive @RequestParam int page,
-                                    @Positive @RequestParam int size){
-        Page<Order> orderPage = orderService.findOrders(page, size);
+                                    @Positive @RequestParam int size,
+                                    WebRequest webRequest){
+        Page<Long> orderIds = orderService.findOrderIds(page, size);
+        ResourceVersion version = orderService.findOrdersVersion(orderIds);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Page<Order> orderPage = orderService.findOrders(orderIds);
         List<Order> orders = orderPage.getContent();
 
         return new ResponseEntity(new MultiResponseDto<>(orderMapper.ordersToOrderResponseDtos(orders), orderPage), HttpStatus.OK);
     }
 
+    // page 파라미터가 없으면 커서 페이지네이션 (아이디 슬라이스 + 검증값 + 상세 조회)
+    @StatementBudget(3)
+    @GetMapping(params = "!page")
+    public ResponseEntity getOrders(@RequestParam(required = false) String after,
+                                    @Positive @RequestParam int size,
+                                    WebRequest webRequest){
+        Slice<Long> orderIds = orderService.findOrderIds(after, size);
+        ResourceVersion version = orderService.findOrdersVersion(orderIds);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Slice<Order> orderSlice = orderService.findOrders(orderIds);
+        List<Order> orders = orderSlice.getContent();
+
+        return new ResponseEntity(new CursorResponseDto<>(orderMapper.ordersToOrderResponseDtos(orders), orderSlice,
+                CursorCreator.nextCursor(orderSlice, Order::getOrderId)), HttpStatus.OK);
+    }
+
+    // 기간 내 주문 전체 내보내기 (페이지 없이 스트리밍)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format){
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        StreamingResponseBody body = outputStream -> orderExportService.export(from, to, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=orders-" + from + "-" + to + "." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    // 주문 일괄 취소 (처리 완료된 주문은 제외하고 건수만 반환)
+    @PostMapping("/cancel")
+    public ResponseEntity cancelOrders(@Valid @RequestBody OrderBulkCancelDto dto){
+        return new ResponseEntity(new SingleResponseDto<>(orderService.cancelOrders(dto)), HttpStatus.OK);
+    }
+
     @DeleteMapping("/{order-id}")
     public ResponseEntity cancelOrder(@Positive @PathVariable("order-id") long orderId){
         orderService.deleteOrder(orderId);
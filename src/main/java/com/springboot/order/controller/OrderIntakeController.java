@@ -0,0 +1,42 @@
+package com.springboot.order.controller;
+
+import com.springboot.order.dto.OrderPostDto;
+import com.springboot.order.mapper.OrderMapper;
+import com.springboot.order.service.OrderIntakeQueue;
+import com.springboot.order.service.OrderTicket;
+import com.springboot.response.SingleResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+// 비동기 주문 접수 (order.async.enabled=true 일 때만 활성화)
+@RestController
+@RequestMapping("/v12/orders")
+@Validated
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class OrderIntakeController {
+    private final OrderIntakeQueue orderIntakeQueue;
+    private final OrderMapper orderMapper;
+
+    public OrderIntakeController(OrderIntakeQueue orderIntakeQueue, OrderMapper orderMapper) {
+        this.orderIntakeQueue = orderIntakeQueue;
+        this.orderMapper = orderMapper;
+    }
+
+    // DTO 검증만 하고 큐에 넣은 뒤 티켓 반환 (회원/커피 검증과 저장은 워커에서)
+    @PostMapping("/async")
+    public ResponseEntity postOrderAsync(@Valid @RequestBody OrderPostDto dto){
+        OrderTicket ticket = orderIntakeQueue.submit(orderMapper.orderPostDtoToOrder(dto));
+        return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderTicketToOrderTicketResponseDto(ticket)), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/tickets/{ticket-id}")
+    public ResponseEntity getTicket(@PathVariable("ticket-id") String ticketId){
+        OrderTicket ticket = orderIntakeQueue.findTicket(ticketId);
+        return new ResponseEntity(new SingleResponseDto<>(orderMapper.orderTicketToOrderTicketResponseDto(ticket)), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,14 @@
+package com.springboot.order.dto;
+
+import com.springboot.exception.ExceptionCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderBatchResponseDto {
+    private int index;
+    private Long orderId;
+    private ExceptionCode exceptionCode;
+    private String message;
+}
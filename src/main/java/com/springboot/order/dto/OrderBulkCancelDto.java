@@ -0,0 +1,31 @@
+package com.springboot.order.dto;
+
+import com.springboot.order.entity.Order;
+import lombok.Getter;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
+
+// 일괄 취소 조건 (회원, 주문 생성 기간, 현재 상태 중 하나 이상)
+@Getter
+public class OrderBulkCancelDto {
+    @Positive
+    private Long memberId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private Order.OrderStatus orderStatus;
+
+    @AssertTrue(message = "memberId, from/to, orderStatus 중 하나 이상 지정해야 합니다.")
+    private boolean isConditionSpecified() {
+        return memberId != null || from != null || to != null || orderStatus != null;
+    }
+
+    @AssertTrue(message = "from은 to보다 이전이어야 합니다.")
+    private boolean isRangeValid() {
+        return from == null || to == null || from.isBefore(to);
+    }
+}
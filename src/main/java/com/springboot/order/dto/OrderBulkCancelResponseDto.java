@@ -0,0 +1,13 @@
+package com.springboot.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 일괄 취소 결과 요약
+@Getter
+@AllArgsConstructor
+public class OrderBulkCancelResponseDto {
+    private int cancelled;
+    // 조건에 맞지만 처리 완료되어 취소할 수 없는 주문 수
+    private long skippedCompleted;
+}
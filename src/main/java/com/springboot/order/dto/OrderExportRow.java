@@ -0,0 +1,23 @@
+package com.springboot.order.dto;
+
+import com.springboot.order.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 주문 내보내기용 프로젝션 (주문 커피 한 줄 = 한 행, 영속성 컨텍스트에 엔티티가 쌓이지 않음)
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+    private long orderId;
+    private long memberId;
+    private Order.OrderStatus orderStatus;
+    private LocalDateTime createdAt;
+    // 주문 커피가 없는 주문이면 아래 값은 모두 null
+    private Long coffeeId;
+    private String korName;
+    private String engName;
+    private Integer price;
+    private Integer quantity;
+}
@@ -0,0 +1,18 @@
+package com.springboot.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 일괄 취소 보상 처리(스탬프/판매 집계 차감)용 프로젝션 (주문 커피 한 줄 = 한 행)
+@Getter
+@AllArgsConstructor
+public class OrderLineSummary {
+    private long orderId;
+    private long memberId;
+    private LocalDateTime createdAt;
+    private long coffeeId;
+    private int quantity;
+    private int unitPrice;
+}
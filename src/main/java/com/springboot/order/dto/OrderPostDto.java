@@ -4,6 +4,7 @@ import com.springboot.member.entity.Member;
 import lombok.Getter;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import java.util.List;
 
@@ -13,7 +14,8 @@ public class OrderPostDto {
     private long memberId;
 
     @Valid
-    private List<OrderCoffeeDto> orderCoffees;
+    @NotNull
+    private List<@NotNull OrderCoffeeDto> orderCoffees;
 
     public Member getMember() {
         Member member = new Member();
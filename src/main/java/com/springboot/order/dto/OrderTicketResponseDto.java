@@ -0,0 +1,19 @@
+package com.springboot.order.dto;
+
+import com.springboot.exception.ExceptionCode;
+import com.springboot.order.service.OrderTicket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderTicketResponseDto {
+    private String ticketId;
+    private OrderTicket.TicketStatus ticketStatus;
+    private Long orderId;
+    private ExceptionCode exceptionCode;
+
+    public String getTicketStatus() {
+        return ticketStatus.getStatus();
+    }
+}
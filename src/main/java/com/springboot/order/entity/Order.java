@@ -2,6 +2,7 @@ package com.springboot.order.entity;
 
 import com.springboot.config.BaseEntity;
 import com.springboot.member.entity.Member;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,12 +15,22 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "ORDERS")
+// 회원별 주문 내역 키셋 조회용 복합 인덱스 (상태 필터가 있을 때는 두 번째 인덱스 사용)
+@Table(name = "ORDERS", indexes = {
+        @Index(name = "idx_orders_member_order", columnList = "member_id, order_id"),
+        @Index(name = "idx_orders_member_status_order", columnList = "member_id, order_status, order_id")
+})
 public class Order extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long orderId;
 
+    // 낙관적 락 (동시에 수정되면 나중에 커밋하는 쪽이 실패)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     private OrderStatus orderStatus = OrderStatus.ORDER_REQUEST;
 
@@ -37,6 +48,11 @@ public class Order extends BaseEntity {
         }
     }
 
+    // 연관관계 편의 메서드를 거치지 않고 FK만 지정 (프록시의 orders 컬렉션 초기화 방지)
+    public void setMemberReference(Member member){
+        this.member = member;
+    }
+
     public void setOrderCoffee(OrderCoffee orderCoffee){
         if(orderCoffee.getOrder() != this){
             orderCoffee.setOrder(this);
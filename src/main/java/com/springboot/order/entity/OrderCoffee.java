@@ -15,12 +15,17 @@ import javax.persistence.*;
 public class OrderCoffee extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_coffee_seq")
+    @SequenceGenerator(name = "order_coffee_seq", sequenceName = "order_coffee_seq", allocationSize = 50)
     private Long orderCoffeeId;
 
     @Column(nullable = false)
     private int quantity;
 
+    // 주문 당시 커피 가격 (이후 가격이 바뀌어도 매출 집계/취소 보상에 사용)
+    @Column(nullable = false)
+    private Integer unitPrice;
+
     @ManyToOne
     @JoinColumn(name = "order_id")
     private Order order;
@@ -2,12 +2,16 @@ package com.springboot.order.mapper;
 
 import com.springboot.coffee.entity.Coffee;
 import com.springboot.member.entity.Member;
+import com.springboot.order.dto.OrderBatchResponseDto;
 import com.springboot.order.dto.OrderCoffeeResponseDto;
 import com.springboot.order.dto.OrderPatchDto;
 import com.springboot.order.dto.OrderPostDto;
 import com.springboot.order.dto.OrderResponseDto;
+import com.springboot.order.dto.OrderTicketResponseDto;
 import com.springboot.order.entity.Order;
 import com.springboot.order.entity.OrderCoffee;
+import com.springboot.order.service.OrderBatchResult;
+import com.springboot.order.service.OrderTicket;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -44,6 +48,21 @@ public interface OrderMapper {
 
     List<OrderResponseDto> ordersToOrderResponseDtos(List<Order> orders);
 
+    default OrderBatchResponseDto orderBatchResultToOrderBatchResponseDto(OrderBatchResult result){
+        if(result.getOrder() != null){
+            return new OrderBatchResponseDto(result.getIndex(), result.getOrder().getOrderId(), null, null);
+        }
+        return new OrderBatchResponseDto(result.getIndex(), null,
+                result.getExceptionCode(), result.getExceptionCode().getMessage());
+    }
+
+    List<OrderBatchResponseDto> orderBatchResultsToOrderBatchResponseDtos(List<OrderBatchResult> results);
+
+    default OrderTicketResponseDto orderTicketToOrderTicketResponseDto(OrderTicket ticket){
+        return new OrderTicketResponseDto(ticket.getTicketId(), ticket.getTicketStatus(),
+                ticket.getOrderId(), ticket.getExceptionCode());
+    }
+
     @Mapping(source = "coffee.coffeeId", target = "coffeeId")
     @Mapping(source = "coffee.korName", target = "korName")
     @Mapping(source = "coffee.engName", target = "engName")
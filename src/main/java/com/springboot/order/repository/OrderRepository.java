@@ -1,7 +1,119 @@
 package com.springboot.order.repository;
 
+import com.springboot.order.dto.OrderExportRow;
+import com.springboot.order.dto.OrderLineSummary;
 import com.springboot.order.entity.Order;
+import com.springboot.response.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // 1단계: 페이지에 해당하는 주문 아이디만 페이지네이션 (컬렉션 fetch join 없이 DB에서 LIMIT/OFFSET 적용)
+    @Query(value = "select o.orderId from Order o",
+            countQuery = "select count(o) from Order o")
+    Page<Long> findOrderIds(Pageable pageable);
+
+    // 커서 모드: WHERE order_id < ? ORDER BY order_id DESC LIMIT ? (count 쿼리 없음)
+    @Query("select o.orderId from Order o where o.orderId < :orderId")
+    Slice<Long> findOrderIdsByOrderIdLessThan(@Param("orderId") long orderId, Pageable pageable);
+
+    // 회원별 주문 내역: WHERE member_id = ? AND order_id < ? ORDER BY order_id DESC LIMIT ? (복합 인덱스 범위 조회)
+    @Query("select o.orderId from Order o where o.member.memberId = :memberId and o.orderId < :orderId")
+    Slice<Long> findOrderIdsByMemberId(@Param("memberId") long memberId, @Param("orderId") long orderId,
+                                       Pageable pageable);
+
+    @Query("select o.orderId from Order o " +
+            "where o.member.memberId = :memberId and o.orderStatus = :orderStatus and o.orderId < :orderId")
+    Slice<Long> findOrderIdsByMemberIdAndOrderStatus(@Param("memberId") long memberId,
+                                                     @Param("orderStatus") Order.OrderStatus orderStatus,
+                                                     @Param("orderId") long orderId, Pageable pageable);
+
+    // 내보내기: 주문 커피 한 줄씩 DTO로 스트리밍 (트랜잭션 안에서 사용 후 반드시 close)
+    // 주문 커피가 없는 주문도 빠지지 않도록 left join (커피 컬럼은 null)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.springboot.order.dto.OrderExportRow(o.orderId, o.member.memberId, o.orderStatus, " +
+            "o.createdAt, c.coffeeId, c.korName, c.engName, c.price, oc.quantity) " +
+            "from Order o left join o.orderCoffees oc left join oc.coffee c " +
+            "where o.createdAt >= :from and o.createdAt < :to " +
+            "order by o.orderId, oc.orderCoffeeId")
+    Stream<OrderExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 주문 단건을 회원, 주문 커피, 커피와 함께 조회 (트랜잭션이 끝난 뒤 응답으로 변환해도 지연 로딩 x)
+    @EntityGraph(attributePaths = {"member", "member.stamp", "orderCoffees", "orderCoffees.coffee"})
+    @Query("select o from Order o where o.orderId = :orderId")
+    Optional<Order> findWithDetailsByOrderId(@Param("orderId") long orderId);
+
+    // 2단계: 아이디 목록으로 주문, 회원, 주문 커피, 커피를 한 번에 조회
+    @EntityGraph(attributePaths = {"member", "member.stamp", "orderCoffees", "orderCoffees.coffee"})
+    @Query("select distinct o from Order o where o.orderId in :orderIds order by o.orderId desc")
+    List<Order> findAllWithDetailsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    // 조건부 GET 검증값: 응답에 커피 이름/가격이 포함되므로 커피의 버전과 수정 시각도 반영
+    @Query("select new com.springboot.response.ResourceVersion(" +
+            "o.orderId, o.version + coalesce(sum(c.version), 0), o.modifiedAt, max(c.modifiedAt)) " +
+            "from Order o left join o.orderCoffees oc left join oc.coffee c " +
+            "where o.orderId = :orderId group by o.orderId, o.version, o.modifiedAt")
+    Optional<ResourceVersion> findResourceVersion(@Param("orderId") long orderId);
+
+    // 목록 검증값: 페이지에 포함된 주문과 커피의 버전 합계, 가장 최근 수정 시각
+    @Query("select new com.springboot.response.ResourceVersion(" +
+            "count(o), coalesce(sum(o.version), 0) + coalesce(sum(c.version), 0), max(o.modifiedAt), max(c.modifiedAt)) " +
+            "from Order o left join o.orderCoffees oc left join oc.coffee c " +
+            "where o.orderId in :orderIds")
+    ResourceVersion findResourceVersion(@Param("orderIds") Collection<Long> orderIds);
+
+    // 일괄 취소 1단계: 조건에 맞는 취소 가능 주문 아이디를 청크 크기만큼 조회 (afterId 이후부터, 잠그지 않음)
+    @Query("select o.orderId from Order o where o.orderId > :afterId and o.orderStatus in :statuses " +
+            "and (:memberId is null or o.member.memberId = :memberId) " +
+            "and (:from is null or o.createdAt >= :from) and (:to is null or o.createdAt < :to) " +
+            "order by o.orderId")
+    List<Long> findOrderIdsForCancel(@Param("afterId") long afterId,
+                                     @Param("statuses") Collection<Order.OrderStatus> statuses,
+                                     @Param("memberId") Long memberId,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     Pageable pageable);
+
+    // 일괄 취소 2단계: 상태가 그사이 바뀌지 않은 주문만 취소 (엔티티를 읽지 않고 버전/수정 시각도 함께 갱신)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :cancel, o.version = o.version + 1, o.modifiedAt = :now " +
+            "where o.orderId in :orderIds and o.orderStatus in :statuses")
+    int cancelOrders(@Param("orderIds") Collection<Long> orderIds,
+                     @Param("statuses") Collection<Order.OrderStatus> statuses,
+                     @Param("cancel") Order.OrderStatus cancel,
+                     @Param("now") LocalDateTime now);
+
+    // 일괄 취소 3단계: 이번 UPDATE로 취소된 주문만 다시 조회 (조회 이후 다른 요청이 먼저 취소한 주문 제외)
+    // 갱신한 행은 커밋 전까지 이 트랜잭션이 잠그고 있으므로 수정 시각이 같으면 이번 UPDATE가 바꾼 행
+    @Query("select o.orderId from Order o where o.orderId in :orderIds " +
+            "and o.orderStatus = :cancel and o.modifiedAt = :now")
+    List<Long> findCancelledOrderIds(@Param("orderIds") Collection<Long> orderIds,
+                                     @Param("cancel") Order.OrderStatus cancel,
+                                     @Param("now") LocalDateTime now);
+
+    // 일괄 취소 4단계: 스탬프/판매 집계 차감에 필요한 주문 커피 정보
+    @Query("select new com.springboot.order.dto.OrderLineSummary(o.orderId, o.member.memberId, o.createdAt, " +
+            "oc.coffee.coffeeId, oc.quantity, oc.unitPrice) " +
+            "from OrderCoffee oc join oc.order o where o.orderId in :orderIds")
+    List<OrderLineSummary> findLineSummaries(@Param("orderIds") Collection<Long> orderIds);
+
+    // 조건에 맞지만 처리 완료되어 취소할 수 없는 주문 수
+    @Query("select count(o) from Order o where o.orderStatus = :status " +
+            "and (:memberId is null or o.member.memberId = :memberId) " +
+            "and (:from is null or o.createdAt >= :from) and (:to is null or o.createdAt < :to)")
+    long countByCondition(@Param("status") Order.OrderStatus status, @Param("memberId") Long memberId,
+                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
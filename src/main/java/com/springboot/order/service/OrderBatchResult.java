@@ -0,0 +1,32 @@
+package com.springboot.order.service;
+
+import com.springboot.exception.ExceptionCode;
+import com.springboot.order.entity.Order;
+import lombok.Getter;
+
+// 일괄 주문 등록에서 요청 순서(index)별 처리 결과 (생성된 주문 또는 실패 사유)
+@Getter
+public class OrderBatchResult {
+    private int index;
+    private Order order;
+    private ExceptionCode exceptionCode;
+
+    private OrderBatchResult(int index, Order order, ExceptionCode exceptionCode) {
+        this.index = index;
+        this.order = order;
+        this.exceptionCode = exceptionCode;
+    }
+
+    public static OrderBatchResult created(int index, Order order) {
+        return new OrderBatchResult(index, order, null);
+    }
+
+    public static OrderBatchResult failed(int index, ExceptionCode exceptionCode) {
+        return new OrderBatchResult(index, null, exceptionCode);
+    }
+
+    // 검증을 통과한 항목만 모아서 처리한 결과를 원래 요청 순서로 되돌릴 때 사용
+    public OrderBatchResult withIndex(int index) {
+        return new OrderBatchResult(index, order, exceptionCode);
+    }
+}
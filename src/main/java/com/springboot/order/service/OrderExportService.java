@@ -0,0 +1,145 @@
+package com.springboot.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.order.dto.OrderCoffeeResponseDto;
+import com.springboot.order.dto.OrderExportRow;
+import com.springboot.order.dto.OrderResponseDto;
+import com.springboot.order.repository.OrderRepository;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 기간 내 주문을 커서로 한 행씩 읽어서 바로 출력 (메모리에는 주문 하나 분량만 유지)
+@Service
+public class OrderExportService {
+    private static final String CSV_HEADER =
+            "order_id,member_id,order_status,created_at,coffee_id,kor_name,eng_name,price,quantity";
+
+    private final OrderRepository orderRepository;
+    private final ObjectWriter orderWriter;
+
+    public OrderExportService(OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderWriter = objectMapper.writerFor(OrderResponseDto.class);
+    }
+
+    // from ~ to (to 날짜 포함) 사이에 생성된 주문 내보내기
+    @Transactional(readOnly = true)
+    public void export(LocalDate from, LocalDate to, Format format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // 주문 커피 한 줄당 CSV 한 행
+    private void writeCsv(Iterator<OrderExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            writer.write(row.getOrderId() + "," + row.getMemberId() + "," + row.getOrderStatus() + ","
+                    + row.getCreatedAt() + "," + csvValue(row.getCoffeeId()) + "," + escapeCsv(row.getKorName()) + ","
+                    + escapeCsv(row.getEngName()) + "," + csvValue(row.getPrice()) + ","
+                    + csvValue(row.getQuantity()));
+            writer.write('\n');
+        }
+    }
+
+    // 주문 아이디 순으로 정렬된 행을 주문 단위로 묶어서 주문 하나당 JSON 한 줄
+    private void writeNdjson(Iterator<OrderExportRow> rows, Writer writer) throws IOException {
+        OrderResponseDto current = null;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (current == null || current.getOrderId() != row.getOrderId()) {
+                writeJsonLine(current, writer);
+                current = new OrderResponseDto();
+                current.setOrderId(row.getOrderId());
+                current.setMemberId(row.getMemberId());
+                current.setOrderStatus(row.getOrderStatus());
+                current.setCreatedAt(row.getCreatedAt());
+                current.setOrderCoffees(new ArrayList<>());
+            }
+            // 주문 커피가 없는 주문은 빈 목록으로 출력
+            if (row.getCoffeeId() != null) {
+                current.getOrderCoffees().add(new OrderCoffeeResponseDto(row.getCoffeeId(), row.getKorName(),
+                        row.getEngName(), row.getPrice(), row.getQuantity()));
+            }
+        }
+        writeJsonLine(current, writer);
+    }
+
+    private void writeJsonLine(OrderResponseDto order, Writer writer) throws IOException {
+        if (order == null) {
+            return;
+        }
+        writer.write(orderWriter.writeValueAsString(order));
+        writer.write('\n');
+    }
+
+    // null은 빈 칸으로 출력
+    private String csvValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // 쉼표, 따옴표, 줄바꿈(\r 포함)이 들어간 값은 따옴표로 감싸기
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    public enum Format {
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+        CSV("csv", MediaType.parseMediaType("text/csv"));
+
+        @Getter
+        private String extension;
+
+        @Getter
+        private MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public static Format from(String format) {
+            for (Format value : values()) {
+                if (value.extension.equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new BusinessLogicException(ExceptionCode.INVALID_EXPORT_FORMAT);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.springboot.order.service;
+
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.order.entity.Order;
+import com.springboot.utils.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 주문을 메모리 큐에 접수하고 워커들이 묶음 단위로 OrderService.createOrders에 넘겨 저장
+// 큐가 가득 차면 접수하지 않고 ORDER_QUEUE_FULL(429), 종료 중이면 ORDER_INTAKE_STOPPED(503) 반환
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.async.enabled", havingValue = "true")
+public class OrderIntakeQueue {
+    private final OrderService orderService;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration ticketTtl;
+    private final boolean virtualThreads;
+    private ExecutorService workers;
+    private volatile boolean running = true;
+
+    public OrderIntakeQueue(OrderService orderService,
+                            @Value("${order.async.queue-capacity:10000}") int queueCapacity,
+                            @Value("${order.async.workers:4}") int workerCount,
+                            @Value("${order.async.batch-size:100}") int batchSize,
+                            @Value("${order.async.ticket-ttl-minutes:10}") long ticketTtlMinutes,
+                            @Value("${app.threads.virtual:false}") boolean virtualThreads) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.ticketTtl = Duration.ofMinutes(ticketTtlMinutes);
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        // 가상 스레드 모드에서는 워커도 가상 스레드로 실행
+        workers = virtualThreads ? VirtualThreads.newExecutor() : Executors.newFixedThreadPool(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    public OrderTicket submit(Order order) {
+        if (!running) {
+            throw new BusinessLogicException(ExceptionCode.ORDER_INTAKE_STOPPED);
+        }
+        OrderTicket ticket = new OrderTicket();
+        PendingOrder pendingOrder = new PendingOrder(ticket, order);
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!queue.offer(pendingOrder)) {
+            tickets.remove(ticket.getTicketId());
+            throw new BusinessLogicException(ExceptionCode.ORDER_QUEUE_FULL);
+        }
+        // 넣는 사이에 종료가 시작됐으면 워커가 이미 끝났을 수 있으므로 큐에서 다시 빼고 거절
+        // (빼지 못했으면 워커가 가져간 것이므로 처리됨)
+        if (!running && queue.remove(pendingOrder)) {
+            tickets.remove(ticket.getTicketId());
+            throw new BusinessLogicException(ExceptionCode.ORDER_INTAKE_STOPPED);
+        }
+        return ticket;
+    }
+
+    public OrderTicket findTicket(String ticketId) {
+        OrderTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new BusinessLogicException(ExceptionCode.ORDER_TICKET_NOT_FOUND);
+        }
+        return ticket;
+    }
+
+    // 처리가 끝나고 보관 기간이 지난 티켓 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredTickets() {
+        Instant expiredBefore = Instant.now().minus(ticketTtl);
+        tickets.values().removeIf(ticket ->
+                ticket.getCompletedAt() != null && ticket.getCompletedAt().isBefore(expiredBefore));
+    }
+
+    // 종료 시 새 접수는 멈추고 큐에 남은 주문은 모두 처리한 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("# order intake stopped with {} orders still queued", queue.size());
+        }
+    }
+
+    private void drain() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingOrder> batch) {
+        try {
+            List<OrderBatchResult> results = orderService.createOrders(batch.stream()
+                    .map(PendingOrder::getOrder)
+                    .collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).getTicket().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.error("# order intake batch of {} failed", batch.size(), e);
+            batch.forEach(pendingOrder -> pendingOrder.getTicket().fail(ExceptionCode.ORDER_CREATE_FAILED));
+        }
+    }
+
+    private static class PendingOrder {
+        private final OrderTicket ticket;
+        private final Order order;
+
+        private PendingOrder(OrderTicket ticket, Order order) {
+            this.ticket = ticket;
+            this.order = order;
+        }
+
+        private OrderTicket getTicket() {
+            return ticket;
+        }
+
+        private Order getOrder() {
+            return order;
+        }
+    }
+}
@@ -4,88 +4,422 @@ import com.springboot.coffee.entity.Coffee;
 import com.springboot.coffee.service.CoffeeService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
-import com.springboot.member.entity.Member;
 import com.springboot.member.service.MemberService;
+import com.springboot.order.dto.OrderBulkCancelDto;
+import com.springboot.order.dto.OrderBulkCancelResponseDto;
+import com.springboot.order.dto.OrderLineSummary;
+import com.springboot.order.dto.OrderPostDto;
 import com.springboot.order.entity.Order;
+import com.springboot.order.entity.OrderCoffee;
+import com.springboot.order.mapper.OrderMapper;
 import com.springboot.order.repository.OrderRepository;
+import com.springboot.report.dto.CoffeeSalesDelta;
+import com.springboot.report.service.SalesReportService;
+import com.springboot.response.ResourceVersion;
+import com.springboot.utils.CursorCreator;
+import com.springboot.utils.CustomBeanUtils;
+import com.springboot.utils.OptimisticLockRetry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 
-import java.util.Optional;
+import javax.validation.Validator;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 public class OrderService {
+    // 일괄 등록 시 한 트랜잭션에서 저장할 주문 개수
+    private static final int BATCH_CHUNK_SIZE = 100;
+    // 취소할 수 있는 주문 상태 (처리 완료, 이미 취소된 주문은 제외)
+    private static final Set<Order.OrderStatus> CANCELABLE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(Order.OrderStatus.ORDER_REQUEST, Order.OrderStatus.ORDER_CONFIRM));
+
     // Order의 필드에 Member와 OrderCoffee가 있기 때문에 검증을 위해 서비스 주입
     private MemberService memberService;
     private CoffeeService coffeeService;
     private OrderRepository orderRepository;
+    private SalesReportService salesReportService;
+    private TransactionTemplate transactionTemplate;
+    private OptimisticLockRetry optimisticLockRetry;
+    private OrderMapper orderMapper;
+    private Validator validator;
+    private CustomBeanUtils<Order> beanUtils;
 
-    public OrderService(MemberService memberService, CoffeeService coffeeService, OrderRepository orderRepository) {
+    public OrderService(MemberService memberService, CoffeeService coffeeService, OrderRepository orderRepository,
+                        SalesReportService salesReportService, PlatformTransactionManager transactionManager,
+                        OptimisticLockRetry optimisticLockRetry, OrderMapper orderMapper, Validator validator,
+                        CustomBeanUtils<Order> beanUtils) {
         this.memberService = memberService;
         this.coffeeService = coffeeService;
         this.orderRepository = orderRepository;
+        this.salesReportService = salesReportService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.orderMapper = orderMapper;
+        this.validator = validator;
+        this.beanUtils = beanUtils;
     }
 
     // 주문 생성
+    @Transactional
     public Order createOrder(Order order){
         // 컨트롤러에서 PostDto를 변환한 Entity를 받아서 검증 후 저장
-        // 멤버가 존재하는지 검증하면서 스탬프 업데이트
-        Member member = memberService.findVerifiedMember(order.getMember().getMemberId());
-        // List<OrderCoffee> 순회하면서 각각의 커피코드가 존재하는지 검증
-        order.getOrderCoffees().stream()
-                .forEach(orderCoffee ->
-                        {coffeeService.verifyExistCoffeeCode(orderCoffee.getCoffee().getCoffeeCode());
-                        Coffee coffee = coffeeService.findCoffee(orderCoffee.getCoffee().getCoffeeId());
-                        orderCoffee.setCoffee(coffee);
-                        });
-
-        // 추가할 스탬프 개수
-        int addStamp = order.getOrderCoffees().stream().mapToInt(orderCoffee -> orderCoffee.getQuantity()).sum();
-        member.getStamp().setStampCount(addStamp);
-        memberService.updateMember(member);
+        long memberId = order.getMember().getMemberId();
+        // 회원은 조회하지 않고 존재 여부만 확인
+        memberService.verifyExistsMember(memberId);
+        // 주문에 포함된 커피를 IN 쿼리 한 번으로 검증 및 조회
+        Map<Long, Coffee> coffees = coffeeService.findVerifiedCoffees(getCoffeeIds(order));
+        attachCoffees(order, coffees);
         // 검증이 모두 끝났으면 DB에 저장 후 반환
-        return orderRepository.save(order);
+        return saveOrder(order, memberId);
+    }
+
+    // 주문 일괄 등록 요청 (항목별로 검증해서 잘못된 항목은 실패로 기록하고 나머지만 등록)
+    public List<OrderBatchResult> createOrderRequests(List<OrderPostDto> requests){
+        OrderBatchResult[] results = new OrderBatchResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderPostDto request = requests.get(i);
+            if (request == null || !validator.validate(request).isEmpty()) {
+                results[i] = OrderBatchResult.failed(i, ExceptionCode.INVALID_ORDER_ITEM);
+            } else {
+                validIndexes.add(i);
+                orders.add(orderMapper.orderPostDtoToOrder(request));
+            }
+        }
+
+        // 검증을 통과한 주문만 등록하고 결과를 원래 요청 순서에 맞춰 기록
+        List<OrderBatchResult> created = createOrders(orders);
+        for (int j = 0; j < created.size(); j++) {
+            int index = validIndexes.get(j);
+            results[index] = created.get(j).withIndex(index);
+        }
+        return Arrays.asList(results);
+    }
+
+    // 주문 일괄 생성 (요청 하나가 실패해도 나머지는 등록)
+    public List<OrderBatchResult> createOrders(List<Order> orders){
+        OrderBatchResult[] results = new OrderBatchResult[orders.size()];
+
+        // 회원과 커피를 각각 IN 쿼리 한 번으로 검증
+        Set<Long> memberIds = orders.stream()
+                .map(order -> order.getMember().getMemberId())
+                .collect(Collectors.toSet());
+        Set<Long> existingMemberIds = memberService.findExistingMemberIds(memberIds);
+        Set<Long> coffeeIds = orders.stream()
+                .flatMap(order -> getCoffeeIds(order).stream())
+                .collect(Collectors.toSet());
+        Map<Long, Coffee> coffees = coffeeService.findCoffeesByIds(coffeeIds);
+
+        long[] memberIdOf = new long[orders.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            long memberId = order.getMember().getMemberId();
+            memberIdOf[i] = memberId;
+            if (!existingMemberIds.contains(memberId)) {
+                results[i] = OrderBatchResult.failed(i, ExceptionCode.MEMBER_NOT_FOUND);
+            } else if (!coffees.keySet().containsAll(getCoffeeIds(order))) {
+                results[i] = OrderBatchResult.failed(i, ExceptionCode.COFFEE_NOT_FOUND);
+            } else {
+                attachCoffees(order, coffees);
+                validIndexes.add(i);
+            }
+        }
+
+        // 검증을 통과한 주문은 청크 단위 트랜잭션으로 저장
+        for (int from = 0; from < validIndexes.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + BATCH_CHUNK_SIZE, validIndexes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> chunk.forEach(i -> saveOrder(orders.get(i), memberIdOf[i])));
+                chunk.forEach(i -> results[i] = OrderBatchResult.created(i, orders.get(i)));
+            } catch (RuntimeException e) {
+                // 청크가 실패하면 실패한 주문만 골라내기 위해 하나씩 다시 저장
+                log.warn("# order batch chunk failed, retrying {} orders one by one", chunk.size(), e);
+                chunk.forEach(i -> results[i] = retryOrder(i, orders.get(i), memberIdOf[i]));
+            }
+        }
+        return Arrays.asList(results);
     }
 
     // 주문 수정
     public Order updateOrder(Order order){
     // patchDto -> Entity로 변환한 order 받아서 orderId로 주문이 있는지 확인하고
         // 수정할 수 있는 부분이 status 밖에 없기 때문에 status가 바뀌었는지 확인 후 저장, 반환
-        Order foundOrder = verifyExistsOrder(order.getOrderId());
-        // status 확인
-        Optional.ofNullable(order.getOrderStatus())
-                .ifPresent(orderStatus -> foundOrder.setOrderStatus(order.getOrderStatus()));
-        // 수정 후 저장, 반환
-        return orderRepository.save(foundOrder);
+        // 다른 요청과 동시에 수정되면 다시 조회해서 재시도
+        return optimisticLockRetry.execute(() -> {
+            Order foundOrder = verifyExistsOrder(order.getOrderId());
+            // status 확인 (값이 있는 필드만 덮어쓰기, 회원/주문 커피는 복사되지 않음)
+            beanUtils.copyNonNullProperties(order, foundOrder);
+            // 수정 후 저장, 반환
+            return orderRepository.save(foundOrder);
+        });
     }
 
     // 주문 단건 조회
+    @Transactional(readOnly = true)
     public Order findOrder(long orderId){
         return verifyExistsOrder(orderId);
     }
 
+    // 주문 단건 조건부 GET 검증값 (주문을 로딩하지 않고 버전/수정 시각만 조회)
+    @Transactional(readOnly = true)
+    public ResourceVersion findOrderVersion(long orderId){
+        return orderRepository.findResourceVersion(orderId).orElseThrow(
+                () -> new BusinessLogicException(ExceptionCode.ORDER_NOT_FOUND)
+        );
+    }
+
     // 주문 전체 조회(페이지네이션)
-    public Page<Order> findOrders(int page, int size){
-        Page<Order> orders = orderRepository.findAll(
+    // 아이디 페이지 조회 -> 아이디로 상세 조회 2단계로 나눠서 페이지 크기와 상관없이 쿼리 수 고정 (count + 아이디 + 상세)
+    // 1단계: 페이지에 해당하는 주문 아이디
+    @Transactional(readOnly = true)
+    public Page<Long> findOrderIds(int page, int size){
+        return orderRepository.findOrderIds(
                 PageRequest.of(page-1, size, Sort.by("orderId").descending())
         );
-        return orders;
+    }
+
+    // 커서 페이지네이션의 주문 아이디
+    @Transactional(readOnly = true)
+    public Slice<Long> findOrderIds(String after, int size){
+        return orderRepository.findOrderIdsByOrderIdLessThan(
+                CursorCreator.decode(after),
+                PageRequest.of(0, size, Sort.by("orderId").descending())
+        );
+    }
+
+    // 회원별 주문 내역의 주문 아이디 (커서 페이지네이션, 상태 필터는 선택)
+    // 주문 상세는 findOrders(Slice)로 한 번에 조회
+    @Transactional(readOnly = true)
+    public Slice<Long> findMemberOrderIds(long memberId, Order.OrderStatus orderStatus, String after, int size){
+        memberService.verifyExistsMember(memberId);
+        PageRequest pageRequest = PageRequest.of(0, size, Sort.by("orderId").descending());
+        if(orderStatus == null){
+            return orderRepository.findOrderIdsByMemberId(memberId, CursorCreator.decode(after), pageRequest);
+        }
+        return orderRepository.findOrderIdsByMemberIdAndOrderStatus(memberId, orderStatus,
+                CursorCreator.decode(after), pageRequest);
+    }
+
+    // 목록 조건부 GET 검증값 (아이디 목록 MD5 + 페이지 정보 + 버전 합계, 가장 최근 수정 시각)
+    // 아이디 목록은 32비트 hashCode 대신 MD5로 구분 (다른 페이지가 같은 ETag로 304를 받지 않도록)
+    @Transactional(readOnly = true)
+    public ResourceVersion findOrdersVersion(Slice<Long> orderIds){
+        String ids = orderIds.getContent().stream().map(String::valueOf).collect(Collectors.joining(","));
+        String key = DigestUtils.md5DigestAsHex(ids.getBytes(StandardCharsets.US_ASCII)) + "-"
+                + (orderIds instanceof Page ? ((Page<Long>) orderIds).getTotalElements() : orderIds.hasNext());
+        if(orderIds.isEmpty()){
+            return new ResourceVersion(0L, 0L, null).withKey(key);
+        }
+        return orderRepository.findResourceVersion(orderIds.getContent()).withKey(key);
+    }
+
+    // 2단계: 아이디로 상세 조회
+    @Transactional(readOnly = true)
+    public Page<Order> findOrders(Page<Long> orderIds){
+        if(orderIds.isEmpty()){
+            return new PageImpl<>(Collections.emptyList(), orderIds.getPageable(), orderIds.getTotalElements());
+        }
+        List<Order> orders = orderRepository.findAllWithDetailsByOrderIdIn(orderIds.getContent());
+        return new PageImpl<>(orders, orderIds.getPageable(), orderIds.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Order> findOrders(Slice<Long> orderIds){
+        if(orderIds.isEmpty()){
+            return new SliceImpl<>(Collections.emptyList(), orderIds.getPageable(), false);
+        }
+        List<Order> orders = orderRepository.findAllWithDetailsByOrderIdIn(orderIds.getContent());
+        return new SliceImpl<>(orders, orderIds.getPageable(), orderIds.hasNext());
     }
 
     // 주문 삭제
+    @Transactional
     public void deleteOrder(long orderId){
         // 상태만 변경하고 DB에서 삭제 x
         Order foundOrder = verifyExistsOrder(orderId);
+        // 이미 취소된 주문은 판매 집계를 다시 차감하지 않음
+        if(foundOrder.getOrderStatus() == Order.OrderStatus.ORDER_CANCEL){
+            return;
+        }
+        // 처리 완료된 주문은 취소할 수 없음
+        if(foundOrder.getOrderStatus() == Order.OrderStatus.ORDER_COMPLETE){
+            throw new BusinessLogicException(ExceptionCode.CANNOT_CHANGE_ORDER);
+        }
         foundOrder.setOrderStatus(Order.OrderStatus.ORDER_CANCEL);
         orderRepository.save(foundOrder);
+        // 적립했던 스탬프 차감 (커밋 후 반영)
+        int stampCount = foundOrder.getOrderCoffees().stream().mapToInt(OrderCoffee::getQuantity).sum();
+        memberService.addStampCount(foundOrder.getMember().getMemberId(), -stampCount);
+        // 주문이 생성된 날짜의 판매 집계에서 차감
+        salesReportService.subtractSales(foundOrder.getCreatedAt().toLocalDate(), foundOrder.getOrderCoffees());
+    }
+
+    // 주문 일괄 취소 (회원, 주문 생성 기간, 현재 상태 조건)
+    // 청크마다 한 트랜잭션: 아이디 잠금 조회 + 상태 조건이 걸린 UPDATE 한 번 + 스탬프/판매 집계 차감
+    public OrderBulkCancelResponseDto cancelOrders(OrderBulkCancelDto condition){
+        Set<Order.OrderStatus> statuses = CANCELABLE_STATUSES;
+        long skippedCompleted = 0;
+        if(condition.getOrderStatus() == Order.OrderStatus.ORDER_COMPLETE){
+            throw new BusinessLogicException(ExceptionCode.CANNOT_CHANGE_ORDER);
+        } else if(condition.getOrderStatus() == Order.OrderStatus.ORDER_CANCEL){
+            return new OrderBulkCancelResponseDto(0, 0);
+        } else if(condition.getOrderStatus() != null){
+            statuses = EnumSet.of(condition.getOrderStatus());
+        } else {
+            skippedCompleted = orderRepository.countByCondition(Order.OrderStatus.ORDER_COMPLETE,
+                    condition.getMemberId(), condition.getFrom(), condition.getTo());
+        }
+
+        int cancelled = 0;
+        long afterId = 0;
+        while (true) {
+            CancelChunk chunk = cancelChunk(afterId, statuses, condition);
+            cancelled += chunk.cancelled;
+            if (chunk.orderIds.size() < BATCH_CHUNK_SIZE) {
+                break;
+            }
+            afterId = chunk.orderIds.get(chunk.orderIds.size() - 1);
+        }
+        return new OrderBulkCancelResponseDto(cancelled, skippedCompleted);
+    }
+
+    // 주문 저장 및 스탬프 적립 (스탬프는 커밋 후 반영)
+    private Order saveOrder(Order order, long memberId){
+        // 주문에는 FK만 필요하므로 프록시로 연결
+        order.setMemberReference(memberService.findMemberReference(memberId));
+        int addStamp = order.getOrderCoffees().stream().mapToInt(OrderCoffee::getQuantity).sum();
+        memberService.addStampCount(memberId, addStamp);
+        Order savedOrder = orderRepository.save(order);
+        // 같은 트랜잭션에서 커피별 일별 판매 집계 증가
+        salesReportService.addSales(savedOrder.getCreatedAt().toLocalDate(), savedOrder.getOrderCoffees());
+        return savedOrder;
+    }
+
+    private CancelChunk cancelChunk(long afterId, Set<Order.OrderStatus> statuses, OrderBulkCancelDto condition){
+        return transactionTemplate.execute(status -> {
+            List<Long> orderIds = orderRepository.findOrderIdsForCancel(afterId, statuses,
+                    condition.getMemberId(), condition.getFrom(), condition.getTo(),
+                    PageRequest.of(0, BATCH_CHUNK_SIZE));
+            if (orderIds.isEmpty()) {
+                return new CancelChunk(orderIds, 0);
+            }
+            // 조회 이후 상태가 바뀐 주문은 UPDATE 조건에서 걸러지므로 중복 취소되지 않음
+            // 수정 시각으로 이번 UPDATE가 바꾼 행을 다시 찾으므로 DB 컬럼 정밀도에 맞춰 자름
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            int cancelled = orderRepository.cancelOrders(orderIds, statuses, Order.OrderStatus.ORDER_CANCEL, now);
+            if (cancelled == 0) {
+                return new CancelChunk(orderIds, 0);
+            }
+            // 스탬프/판매 집계는 이번 UPDATE로 실제 취소된 주문만 차감
+            List<Long> cancelledIds = cancelled == orderIds.size()
+                    ? orderIds
+                    : orderRepository.findCancelledOrderIds(orderIds, Order.OrderStatus.ORDER_CANCEL, now);
+
+            List<OrderLineSummary> lines = orderRepository.findLineSummaries(cancelledIds);
+            // 회원별 스탬프 차감
+            lines.stream()
+                    .collect(Collectors.groupingBy(OrderLineSummary::getMemberId,
+                            Collectors.summingInt(OrderLineSummary::getQuantity)))
+                    .forEach((memberId, quantity) -> memberService.addStampCount(memberId, -quantity));
+            // 주문 날짜, 커피별 판매 집계 차감 (청크 전체를 MERGE 한 번으로)
+            Map<LocalDate, Map<Long, List<OrderLineSummary>>> linesByDate = lines.stream()
+                    .collect(Collectors.groupingBy(line -> line.getCreatedAt().toLocalDate(),
+                            Collectors.groupingBy(OrderLineSummary::getCoffeeId)));
+            List<CoffeeSalesDelta> deltas = new ArrayList<>();
+            linesByDate.forEach((salesDate, linesByCoffee) -> linesByCoffee.forEach((coffeeId, coffeeLines) -> {
+                long quantity = coffeeLines.stream().mapToLong(OrderLineSummary::getQuantity).sum();
+                long revenue = coffeeLines.stream()
+                        .mapToLong(line -> (long) line.getUnitPrice() * line.getQuantity())
+                        .sum();
+                deltas.add(new CoffeeSalesDelta(salesDate, coffeeId, -quantity, -revenue));
+            }));
+            salesReportService.addSales(deltas);
+            return new CancelChunk(orderIds, cancelled);
+        });
     }
 
-    // 아이디로 주문이 존재하는지 검증하는 메서드
+    private OrderBatchResult retryOrder(int index, Order order, long memberId){
+        // 롤백된 트랜잭션에서 아이디/버전/생성 시각이 채워진 엔티티는 재사용하지 않고 요청 내용만 복사해서 새로 저장
+        Order retry = newOrderFrom(order);
+        try {
+            Order savedOrder = transactionTemplate.execute(status -> saveOrder(retry, memberId));
+            return OrderBatchResult.created(index, savedOrder);
+        } catch (BusinessLogicException e) {
+            return OrderBatchResult.failed(index, e.getExceptionCode());
+        } catch (RuntimeException e) {
+            log.error("# order batch item {} failed", index, e);
+            return OrderBatchResult.failed(index, ExceptionCode.ORDER_ITEM_REJECTED);
+        }
+    }
+
+    // 요청으로 받은 값(상태, 커피, 수량, 주문 당시 가격)만 가진 새 주문
+    private Order newOrderFrom(Order order){
+        Order newOrder = new Order();
+        newOrder.setOrderStatus(order.getOrderStatus());
+        order.getOrderCoffees().forEach(orderCoffee -> {
+            OrderCoffee newOrderCoffee = new OrderCoffee();
+            newOrderCoffee.setQuantity(orderCoffee.getQuantity());
+            newOrderCoffee.setUnitPrice(orderCoffee.getUnitPrice());
+            newOrderCoffee.setCoffee(orderCoffee.getCoffee());
+            newOrderCoffee.setOrder(newOrder);
+        });
+        return newOrder;
+    }
+
+    private Set<Long> getCoffeeIds(Order order){
+        return order.getOrderCoffees().stream()
+                .map(orderCoffee -> orderCoffee.getCoffee().getCoffeeId())
+                .collect(Collectors.toSet());
+    }
+
+    // 아이디만 가진 커피를 조회한 커피 엔티티로 교체하고 주문 당시 가격 기록
+    private void attachCoffees(Order order, Map<Long, Coffee> coffees){
+        order.getOrderCoffees().forEach(orderCoffee -> {
+            Coffee coffee = coffees.get(orderCoffee.getCoffee().getCoffeeId());
+            orderCoffee.setCoffee(coffee);
+            orderCoffee.setUnitPrice(coffee.getPrice());
+        });
+    }
+
+    // 아이디로 주문이 존재하는지 검증하는 메서드 (주문 커피까지 함께 조회)
     private Order verifyExistsOrder(long orderId){
-        return orderRepository.findById(orderId).orElseThrow(
+        return orderRepository.findWithDetailsByOrderId(orderId).orElseThrow(
                 () -> new BusinessLogicException(ExceptionCode.ORDER_NOT_FOUND)
         );
     }
+
+    private static class CancelChunk {
+        private final List<Long> orderIds;
+        private final int cancelled;
+
+        private CancelChunk(List<Long> orderIds, int cancelled) {
+            this.orderIds = orderIds;
+            this.cancelled = cancelled;
+        }
+    }
 }
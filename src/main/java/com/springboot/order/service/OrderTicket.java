@@ -0,0 +1,47 @@
+package com.springboot.order.service;
+
+import com.springboot.exception.ExceptionCode;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// 비동기로 접수된 주문의 처리 상태 (워커가 처리 결과를 기록)
+@Getter
+public class OrderTicket {
+    private final String ticketId = UUID.randomUUID().toString();
+    private final Instant acceptedAt = Instant.now();
+    private volatile TicketStatus ticketStatus = TicketStatus.TICKET_ACCEPTED;
+    private volatile Long orderId;
+    private volatile ExceptionCode exceptionCode;
+    private volatile Instant completedAt;
+
+    void complete(OrderBatchResult result) {
+        if (result.getOrder() != null) {
+            this.orderId = result.getOrder().getOrderId();
+            this.ticketStatus = TicketStatus.TICKET_CREATED;
+        } else {
+            fail(result.getExceptionCode());
+        }
+        this.completedAt = Instant.now();
+    }
+
+    void fail(ExceptionCode exceptionCode) {
+        this.exceptionCode = exceptionCode;
+        this.ticketStatus = TicketStatus.TICKET_FAILED;
+        this.completedAt = Instant.now();
+    }
+
+    public enum TicketStatus {
+        TICKET_ACCEPTED("주문 접수"),
+        TICKET_CREATED("주문 등록 완료"),
+        TICKET_FAILED("주문 등록 실패");
+
+        @Getter
+        private String status;
+
+        TicketStatus(String status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot.report.controller;
+
+import com.springboot.report.entity.CoffeeSalesDaily;
+import com.springboot.report.mapper.SalesReportMapper;
+import com.springboot.report.service.SalesReportService;
+import com.springboot.response.SingleResponseDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v12/reports")
+@Validated
+public class SalesReportController {
+    private final SalesReportService salesReportService;
+    private final SalesReportMapper mapper;
+
+    public SalesReportController(SalesReportService salesReportService, SalesReportMapper mapper) {
+        this.salesReportService = salesReportService;
+        this.mapper = mapper;
+    }
+
+    // 기간(from ~ to, 양 끝 포함) 내 커피별 일별 판매량/매출 조회
+    @GetMapping("/sales")
+    public ResponseEntity getSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                   @Positive @RequestParam(required = false) Long coffeeId) {
+        List<CoffeeSalesDaily> sales = salesReportService.findSales(from, to, coffeeId);
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(mapper.coffeeSalesDailiesToSalesReportResponseDtos(sales)),
+                HttpStatus.OK);
+    }
+}
@@ -0,0 +1,16 @@
+package com.springboot.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// (판매일, 커피)별 집계 증감분 (주문 취소면 음수)
+@Getter
+@AllArgsConstructor
+public class CoffeeSalesDelta {
+    private LocalDate salesDate;
+    private long coffeeId;
+    private long quantity;
+    private long revenue;
+}
@@ -0,0 +1,15 @@
+package com.springboot.report.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class SalesReportResponseDto {
+    private LocalDate salesDate;
+    private long coffeeId;
+    private long quantity;
+    private long revenue;
+}
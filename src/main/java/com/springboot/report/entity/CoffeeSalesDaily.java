@@ -0,0 +1,41 @@
+package com.springboot.report.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+// 커피별 일별 판매 집계 (주문 생성/취소와 같은 트랜잭션에서 증감)
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "coffee_sales_daily",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sales_date", "coffee_id"}))
+public class CoffeeSalesDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coffee_sales_daily_seq")
+    @SequenceGenerator(name = "coffee_sales_daily_seq", sequenceName = "coffee_sales_daily_seq", allocationSize = 50)
+    private Long coffeeSalesDailyId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "coffee_id", nullable = false)
+    private Long coffeeId;
+
+    // 판매 잔 수
+    @Column(nullable = false)
+    private long quantity;
+
+    // 매출 (주문 당시 단가 * 수량)
+    @Column(nullable = false)
+    private long revenue;
+
+    public CoffeeSalesDaily(LocalDate salesDate, Long coffeeId) {
+        this.salesDate = salesDate;
+        this.coffeeId = coffeeId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.springboot.report.mapper;
+
+import com.springboot.report.dto.SalesReportResponseDto;
+import com.springboot.report.entity.CoffeeSalesDaily;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface SalesReportMapper {
+    SalesReportResponseDto coffeeSalesDailyToSalesReportResponseDto(CoffeeSalesDaily coffeeSalesDaily);
+    List<SalesReportResponseDto> coffeeSalesDailiesToSalesReportResponseDtos(List<CoffeeSalesDaily> coffeeSalesDailies);
+}
@@ -0,0 +1,15 @@
+package com.springboot.report.repository;
+
+import com.springboot.report.entity.CoffeeSalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CoffeeSalesDailyRepository extends JpaRepository<CoffeeSalesDaily, Long>,
+        CoffeeSalesDailyRepositoryCustom {
+    List<CoffeeSalesDaily> findBySalesDateBetweenOrderBySalesDateAscCoffeeIdAsc(LocalDate from, LocalDate to);
+
+    List<CoffeeSalesDaily> findByCoffeeIdAndSalesDateBetweenOrderBySalesDateAsc(long coffeeId,
+                                                                               LocalDate from, LocalDate to);
+}
@@ -0,0 +1,10 @@
+package com.springboot.report.repository;
+
+import com.springboot.report.dto.CoffeeSalesDelta;
+
+import java.util.Collection;
+
+public interface CoffeeSalesDailyRepositoryCustom {
+    // 여러 (판매일, 커피) 집계를 MERGE 한 번으로 증감 (행이 없으면 생성, 호출한 트랜잭션의 커넥션에서 실행)
+    void upsertSales(Collection<CoffeeSalesDelta> deltas);
+}
@@ -0,0 +1,53 @@
+package com.springboot.report.repository;
+
+import com.springboot.report.dto.CoffeeSalesDelta;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// 엔티티를 거치지 않고 JdbcTemplate으로 실행 (Hibernate 네이티브 UPDATE처럼 2차 캐시 전체를 비우지 않음)
+// 주의: H2 전용 문법 (merge ... using (values ...), next value for)
+// 중복 키 예외 후 같은 트랜잭션에서 다시 실행하는 것도 실패한 문장만 롤백하는 H2에서만 동작함
+// PostgreSQL로 옮기면 예외가 트랜잭션 전체를 중단시키므로 insert ... on conflict do update 한 문장으로 바꾸고 재시도를 제거해야 함
+public class CoffeeSalesDailyRepositoryCustomImpl implements CoffeeSalesDailyRepositoryCustom {
+    private static final String UPSERT_HEAD = "merge into coffee_sales_daily t using (values ";
+    private static final String UPSERT_ROW =
+            "(cast(? as date), cast(? as bigint), cast(? as bigint), cast(? as bigint))";
+    private static final String UPSERT_TAIL = ") s(sales_date, coffee_id, quantity, revenue) " +
+            "on (t.sales_date = s.sales_date and t.coffee_id = s.coffee_id) " +
+            "when matched then update set quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue " +
+            "when not matched then insert (coffee_sales_daily_id, sales_date, coffee_id, quantity, revenue) " +
+            "values (next value for coffee_sales_daily_seq, s.sales_date, s.coffee_id, s.quantity, s.revenue)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CoffeeSalesDailyRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertSales(Collection<CoffeeSalesDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = UPSERT_HEAD + String.join(", ", Collections.nCopies(deltas.size(), UPSERT_ROW)) + UPSERT_TAIL;
+        List<Object> args = new ArrayList<>(deltas.size() * 4);
+        for (CoffeeSalesDelta delta : deltas) {
+            args.add(Date.valueOf(delta.getSalesDate()));
+            args.add(delta.getCoffeeId());
+            args.add(delta.getQuantity());
+            args.add(delta.getRevenue());
+        }
+        try {
+            jdbcTemplate.update(sql, args.toArray());
+        } catch (DuplicateKeyException e) {
+            // 같은 날 첫 판매가 동시에 들어와 다른 트랜잭션이 먼저 행을 만든 경우 (문장 하나만 롤백되므로 다시 실행하면 UPDATE)
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+}
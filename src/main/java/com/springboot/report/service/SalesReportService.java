@@ -0,0 +1,69 @@
+package com.springboot.report.service;
+
+import com.springboot.order.entity.OrderCoffee;
+import com.springboot.report.dto.CoffeeSalesDelta;
+import com.springboot.report.entity.CoffeeSalesDaily;
+import com.springboot.report.repository.CoffeeSalesDailyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class SalesReportService {
+    // 여러 트랜잭션이 같은 행들을 항상 같은 순서로 잠그도록 정렬해서 반영
+    private static final Comparator<CoffeeSalesDelta> ROW_ORDER = Comparator
+            .comparing(CoffeeSalesDelta::getSalesDate)
+            .thenComparingLong(CoffeeSalesDelta::getCoffeeId);
+
+    private final CoffeeSalesDailyRepository salesRepository;
+
+    public SalesReportService(CoffeeSalesDailyRepository salesRepository) {
+        this.salesRepository = salesRepository;
+    }
+
+    // 주문 생성 시 판매량 증가 (호출한 트랜잭션 안에서 실행)
+    public void addSales(LocalDate salesDate, Collection<OrderCoffee> orderCoffees) {
+        applySales(salesDate, orderCoffees, 1);
+    }
+
+    // 주문 취소 시 판매량 감소 (보상 처리)
+    public void subtractSales(LocalDate salesDate, Collection<OrderCoffee> orderCoffees) {
+        applySales(salesDate, orderCoffees, -1);
+    }
+
+    // (판매일, 커피)별 증감분을 MERGE 한 번으로 반영 (집계 행이 없으면 같은 문장에서 생성)
+    public void addSales(Collection<CoffeeSalesDelta> deltas) {
+        salesRepository.upsertSales(deltas.stream().sorted(ROW_ORDER).collect(Collectors.toList()));
+    }
+
+    // 집계된 행만 읽어서 기간 내 판매 현황 반환
+    @Transactional(readOnly = true)
+    public List<CoffeeSalesDaily> findSales(LocalDate from, LocalDate to, Long coffeeId) {
+        if (coffeeId == null) {
+            return salesRepository.findBySalesDateBetweenOrderBySalesDateAscCoffeeIdAsc(from, to);
+        }
+        return salesRepository.findByCoffeeIdAndSalesDateBetweenOrderBySalesDateAsc(coffeeId, from, to);
+    }
+
+    // 같은 커피가 여러 줄이면 합쳐서 커피당 한 행
+    private void applySales(LocalDate salesDate, Collection<OrderCoffee> orderCoffees, int sign) {
+        Map<Long, List<OrderCoffee>> linesByCoffee = orderCoffees.stream()
+                .collect(Collectors.groupingBy(orderCoffee -> orderCoffee.getCoffee().getCoffeeId()));
+        List<CoffeeSalesDelta> deltas = linesByCoffee.entrySet().stream()
+                .map(entry -> {
+                    long quantity = entry.getValue().stream().mapToLong(OrderCoffee::getQuantity).sum();
+                    long revenue = entry.getValue().stream()
+                            .mapToLong(orderCoffee -> (long) orderCoffee.getUnitPrice() * orderCoffee.getQuantity())
+                            .sum();
+                    return new CoffeeSalesDelta(salesDate, entry.getKey(), sign * quantity, sign * revenue);
+                })
+                .collect(Collectors.toList());
+        addSales(deltas);
+    }
+}
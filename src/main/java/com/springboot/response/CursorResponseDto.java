@@ -0,0 +1,18 @@
+package com.springboot.response;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+
+@Getter
+public class CursorResponseDto<T> {
+    private List<T> data;
+    private CursorInfo cursorInfo;
+
+    public CursorResponseDto(List<T> data, Slice slice, String nextCursor) {
+        this.data = data;
+        this.cursorInfo = new CursorInfo(slice.getSize(), slice.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,57 @@
+package com.springboot.response;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 조건부 GET(If-None-Match / If-Modified-Since)에 사용하는 검증값
+// 엔티티를 로딩하지 않고 아이디, 버전, 수정 시각만 조회해서 만듦 (JPQL 생성자 프로젝션)
+public class ResourceVersion {
+    private final String key;
+    private final String version;
+    private final LocalDateTime modifiedAt;
+
+    public ResourceVersion(Long id, Long version, LocalDateTime modifiedAt) {
+        this(String.valueOf(id), String.valueOf(version), modifiedAt);
+    }
+
+    // 응답에 연관 엔티티(스탬프, 커피 등)가 포함되면 그 버전 합계와 더 최근의 수정 시각을 사용
+    public ResourceVersion(Long id, Long version, LocalDateTime modifiedAt, LocalDateTime relatedModifiedAt) {
+        this(String.valueOf(id), String.valueOf(version), latest(modifiedAt, relatedModifiedAt));
+    }
+
+    private ResourceVersion(String key, String version, LocalDateTime modifiedAt) {
+        this.key = key;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    // 목록은 아이디 목록과 페이지 정보로 키를 만듦 (같은 버전 합계라도 다른 페이지와 구분)
+    public ResourceVersion withKey(String key) {
+        return new ResourceVersion(key, version, modifiedAt);
+    }
+
+    // DB에 아직 반영되지 않은 변경(스탬프 누적분 등)이 있으면 ETag에만 반영하고 Last-Modified는 사용하지 않음
+    public ResourceVersion withPending(int pending) {
+        if (pending == 0) {
+            return this;
+        }
+        return new ResourceVersion(key, version + "p" + pending, null);
+    }
+
+    // 강한 ETag
+    public String getETag() {
+        return "\"" + key + "-" + version + "\"";
+    }
+
+    // Last-Modified (epoch millis), 알 수 없으면 -1
+    public long getLastModified() {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+}
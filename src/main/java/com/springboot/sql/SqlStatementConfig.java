@@ -0,0 +1,34 @@
+package com.springboot.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlStatementConfig {
+    // 애플리케이션이 쓰는 "dataSource" 빈(Hibernate, JdbcTemplate 공용)을 SQL 집계 DataSource로 감쌈
+    // 커넥션 풀을 감싸는 다른 후처리(동시성 제한 등)보다 나중에 실행되도록 가장 낮은 우선순위
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new StatementCountingPostProcessor();
+    }
+
+    private static class StatementCountingPostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource
+                    && !(bean instanceof StatementCountingDataSource)) {
+                return new StatementCountingDataSource((DataSource) bean);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
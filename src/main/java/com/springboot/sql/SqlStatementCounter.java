@@ -0,0 +1,33 @@
+package com.springboot.sql;
+
+// 커넥션에서 준비/실행되는 모든 SQL 문을 현재 스레드의 StatementScope에 기록 (StatementCountingDataSource가 호출)
+// 요청 단위는 SqlStatementFilter가, 테스트에서는 begin()/end()로 직접 범위를 지정
+public class SqlStatementCounter {
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static StatementScope begin() {
+        StatementScope scope = new StatementScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    public static StatementScope end() {
+        StatementScope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    static void record(String sql) {
+        StatementScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+    }
+}
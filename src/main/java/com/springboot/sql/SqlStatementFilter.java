@@ -0,0 +1,54 @@
+package com.springboot.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청마다 SQL 문 개수를 세고, 예산 초과나 같은 쿼리 반복(N+1 의심)을 경고
+// strict 모드(테스트)에서는 예산 초과 시 예외를 던져 테스트를 실패시킴
+@Slf4j
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+    private final boolean strict;
+    private final int repeatThreshold;
+
+    public SqlStatementFilter(@Value("${sql.statement-budget.strict:false}") boolean strict,
+                              @Value("${sql.n-plus-one.threshold:10}") int repeatThreshold) {
+        this.strict = strict;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        StatementScope scope;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope = SqlStatementCounter.end();
+        }
+
+        scope.getShapes().forEach((sql, times) -> {
+            if (times > repeatThreshold) {
+                log.warn("# possible N+1: {} {} ran the same SQL {} times: {}",
+                        request.getMethod(), request.getRequestURI(), times, sql);
+            }
+        });
+        if (scope.isOverBudget()) {
+            String message = scope.getBudgetOwner() + " executed " + scope.getCount()
+                    + " SQL statements (budget " + scope.getBudget() + ")";
+            if (strict) {
+                throw new IllegalStateException(message);
+            }
+            log.warn("# {}", message);
+        }
+    }
+}
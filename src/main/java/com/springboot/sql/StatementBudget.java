@@ -0,0 +1,15 @@
+package com.springboot.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 핸들러 메서드가 요청 한 번에 실행할 수 있는 최대 SQL 문 개수
+// Hibernate와 JdbcTemplate 모두 포함 (커넥션 단위로 집계, JDBC 배치는 한 문장)
+// 요청이 끝난 뒤 백그라운드에서 실행되는 SQL(스탬프 반영 등)은 포함되지 않음
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+    int value();
+}
@@ -0,0 +1,25 @@
+package com.springboot.sql;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 핸들러의 @StatementBudget 값을 현재 요청의 StatementScope에 설정
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementScope scope = SqlStatementCounter.current();
+        if (scope != null && handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                scope.setBudget(budget.value(), request.getMethod() + " " + request.getRequestURI());
+            }
+        }
+        return true;
+    }
+}
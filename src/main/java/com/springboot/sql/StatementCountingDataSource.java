@@ -0,0 +1,69 @@
+package com.springboot.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 커넥션 단위로 SQL 문을 세는 DataSource
+// Hibernate뿐 아니라 JdbcTemplate으로 실행하는 SQL(스탬프 반영, 판매 집계 MERGE 등)도 같은 DataSource를 쓰므로 함께 집계됨
+// PreparedStatement는 준비할 때 한 번(JDBC 배치도 한 번), 일반 Statement는 실행할 때마다 기록
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ((name.equals("prepareStatement") || name.equals("prepareCall"))
+                            && args != null && args[0] instanceof String) {
+                        SqlStatementCounter.record((String) args[0]);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (name.equals("createStatement")) {
+                        return counting((Statement) result);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement counting(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ((name.startsWith("execute") || name.equals("addBatch"))
+                            && args != null && args.length > 0 && args[0] instanceof String) {
+                        SqlStatementCounter.record((String) args[0]);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
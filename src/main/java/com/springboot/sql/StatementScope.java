@@ -0,0 +1,60 @@
+package com.springboot.sql;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// 요청(또는 테스트) 하나에서 실행된 SQL 문 개수와 모양(shape)별 반복 횟수
+public class StatementScope {
+    // IN (?, ?, ?) 처럼 파라미터 개수만 다른 쿼리는 같은 모양으로 취급
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Getter
+    private int count;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    @Getter
+    private int budget = -1;
+    @Getter
+    private String budgetOwner;
+
+    void record(String sql) {
+        count++;
+        shapes.merge(normalize(sql), 1, Integer::sum);
+    }
+
+    void setBudget(int budget, String budgetOwner) {
+        this.budget = budget;
+        this.budgetOwner = budgetOwner;
+    }
+
+    public boolean isOverBudget() {
+        return budget >= 0 && count > budget;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return shapes;
+    }
+
+    // 테스트에서 사용: 실행된 SQL 문이 max개를 넘으면 실패
+    public void assertAtMost(int max) {
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + count
+                    + " were executed: " + shapes);
+        }
+    }
+
+    public void assertExactly(int expected) {
+        if (count != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but " + count
+                    + " were executed: " + shapes);
+        }
+    }
+
+    private static String normalize(String sql) {
+        String shape = IN_LIST.matcher(sql).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
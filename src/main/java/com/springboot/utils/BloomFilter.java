@@ -0,0 +1,82 @@
+package com.springboot.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 락 없는 블룸 필터 (없다고 나오면 확실히 없음, 있다고 나오면 있을 수도 있음)
+// 비트 배열은 AtomicLongArray로 관리해서 여러 스레드가 동시에 추가/조회 가능
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    // 예상 원소 수와 목표 오탐률로 비트 수와 해시 함수 개수 계산
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((m + 63) / 64));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long previous = bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            if ((previous & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 현재 채워진 비트 비율로 계산한 오탐 확률
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitSize, hashCount);
+    }
+
+    // 채워진 비트 수로 추정한 원소 수
+    public long getApproximateElementCount() {
+        double fillRatio = (double) setBits.get() / bitSize;
+        return Math.round(-(double) bitSize / hashCount * Math.log(1 - fillRatio));
+    }
+
+    public long getMemoryBytes() {
+        return bitSize / 8;
+    }
+
+    // FNV-1a 후 murmur3 fmix64로 비트를 골고루 섞음
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53a87c3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
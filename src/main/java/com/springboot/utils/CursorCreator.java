@@ -0,0 +1,39 @@
+package com.springboot.utils;
+
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class CursorCreator {
+    // 커서가 없으면(첫 페이지) 가장 큰 아이디부터 조회
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessLogicException(ExceptionCode.INVALID_CURSOR);
+        }
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 다음 페이지가 있으면 마지막 요소의 아이디로 다음 커서 생성
+    public static <T> String nextCursor(Slice<T> slice, ToLongFunction<T> idGetter) {
+        if (!slice.hasNext() || slice.isEmpty()) {
+            return null;
+        }
+        List<T> content = slice.getContent();
+        return encode(idGetter.applyAsLong(content.get(content.size() - 1)));
+    }
+}
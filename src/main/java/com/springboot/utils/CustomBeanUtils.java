@@ -1,30 +1,94 @@
 package com.springboot.utils;
 
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
 
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class CustomBeanUtils<T> {
+    // 클래스별 복사 계획 캐시 (리플렉션은 클래스당 최초 한 번만 수행)
+    private static final Map<Class<?>, List<PropertyCopier>> COPY_PLANS = new ConcurrentHashMap<>();
+
     public T copyNonNullProperties(T source, T destination) {
         if (source == null || destination == null || source.getClass() != destination.getClass()) {
             return null;
         }
 
-        final BeanWrapper src = new BeanWrapperImpl(source);
-        final BeanWrapper dest = new BeanWrapperImpl(destination);
-
-
-        for (final Field property : source.getClass().getDeclaredFields()) {
-            Object sourceProperty = src.getPropertyValue(property.getName());
+        for (final PropertyCopier copier : COPY_PLANS.computeIfAbsent(source.getClass(), CustomBeanUtils::createCopyPlan)) {
+            Object sourceProperty = copier.get(source);
             if (sourceProperty != null && !(sourceProperty instanceof Collection<?>)) {
-                dest.setPropertyValue(property.getName(), sourceProperty);
+                copier.set(destination, sourceProperty);
             }
         }
 
         return destination;
     }
+
+    // 상위 클래스(BaseEntity 등)까지 올라가면서 getter/setter가 모두 있는 필드만 복사 대상으로 등록
+    private static List<PropertyCopier> createCopyPlan(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<PropertyCopier> plan = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !names.add(field.getName())) {
+                    continue;
+                }
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field.getName());
+                if (descriptor == null || descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null) {
+                    continue;
+                }
+                try {
+                    plan.add(new PropertyCopier(
+                            lookup.unreflect(descriptor.getReadMethod())
+                                    .asType(MethodType.methodType(Object.class, Object.class)),
+                            lookup.unreflect(descriptor.getWriteMethod())
+                                    .asType(MethodType.methodType(void.class, Object.class, Object.class))));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot access property " + field.getName() + " of " + type, e);
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static class PropertyCopier {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private PropertyCopier(MethodHandle getter, MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
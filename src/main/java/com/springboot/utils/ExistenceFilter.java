@@ -0,0 +1,60 @@
+package com.springboot.utils;
+
+import com.springboot.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// 유니크 값(커피 코드, 이메일, 전화번호) 중복 확인 전에 DB 조회가 필요한지 판단하는 블룸 필터
+// 시작 시 DB 값으로 채워지기 전까지는 항상 DB를 확인
+// 오탐률, 메모리 사용량, DB 조회를 건너뛴 횟수, 실제 오탐 횟수를 /internal/metrics에 노출
+public class ExistenceFilter {
+    private final BloomFilter bloomFilter;
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean warmed;
+
+    public ExistenceFilter(String name, long expectedInsertions, double falsePositiveRate,
+                           MetricsRegistry metricsRegistry) {
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        String prefix = "bloom_filter_" + name;
+        metricsRegistry.gauge(prefix + "_expected_fpp", bloomFilter::getExpectedFalsePositiveRate);
+        metricsRegistry.gauge(prefix + "_observed_fpp", this::getObservedFalsePositiveRate);
+        metricsRegistry.gauge(prefix + "_memory_bytes", bloomFilter::getMemoryBytes);
+        metricsRegistry.gauge(prefix + "_elements", bloomFilter::getApproximateElementCount);
+        metricsRegistry.gauge(prefix + "_db_checks_skipped_total", skipped::sum);
+        metricsRegistry.gauge(prefix + "_false_positives_total", falsePositives::sum);
+    }
+
+    // false면 확실히 없는 값이므로 DB 조회 생략
+    public boolean mightExist(String value) {
+        if (!warmed || bloomFilter.mightContain(value)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    public void add(String value) {
+        bloomFilter.put(value);
+    }
+
+    // 필터는 있을 수도 있다고 했지만 DB에 없었던 경우
+    public void recordFalsePositive() {
+        if (warmed) {
+            falsePositives.increment();
+        }
+    }
+
+    // 채우는 도중에 저장된 값도 add로 들어오므로 다 채운 뒤에 사용 시작
+    public void warm(Stream<String> values) {
+        values.forEach(bloomFilter::put);
+        warmed = true;
+    }
+
+    // 새 값 중 필터가 있을 수도 있다고 판단한 비율
+    private double getObservedFalsePositiveRate() {
+        long negatives = skipped.sum() + falsePositives.sum();
+        return negatives == 0 ? 0 : (double) falsePositives.sum() / negatives;
+    }
+}
@@ -0,0 +1,65 @@
+package com.springboot.utils;
+
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 버전 충돌이 나면 작업 전체를 새 트랜잭션에서 다시 실행 (조회부터 다시 하므로 최신 값 기준으로 수정)
+// 재시도 사이에는 지수 백오프 + 지터로 대기하고, 모두 실패하면 CONCURRENT_MODIFICATION(409)
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${retry.optimistic-lock.max-attempts:5}") int maxAttempts,
+                               @Value("${retry.optimistic-lock.backoff-ms:20}") long backoffMillis,
+                               @Value("${retry.optimistic-lock.max-backoff-ms:500}") long maxBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        // 바깥 트랜잭션에 참여 중이면 여기서 다시 실행해도 같은 영속성 컨텍스트라 의미가 없으므로 충돌을 그대로 전달
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("# optimistic lock conflict after {} attempts", attempt, e);
+                    throw new BusinessLogicException(ExceptionCode.CONCURRENT_MODIFICATION);
+                }
+                sleep(attempt);
+            }
+        }
+    }
+
+    // 0 ~ min(max, base * 2^(attempt-1)) 사이에서 무작위로 대기 (동시에 충돌한 요청들이 다시 부딪히지 않도록)
+    private void sleep(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessLogicException(ExceptionCode.CONCURRENT_MODIFICATION);
+        }
+    }
+}
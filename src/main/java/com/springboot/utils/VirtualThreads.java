@@ -0,0 +1,15 @@
+package com.springboot.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreads {
+    // Java 21의 Executors.newVirtualThreadPerTaskExecutor()를 리플렉션으로 호출 (하위 버전에서도 컴파일되도록)
+    public static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+}